@@ -0,0 +1,144 @@
+package com.mariamkatamashvili.gym.config.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import com.mariamkatamashvili.gym.dto.trainingDto.TrainingPageDTO;
+import com.mariamkatamashvili.gym.dto.trainingDto.TrainingResponseDTO;
+import com.mariamkatamashvili.gym.dto.trainerDto.TrainerDTO;
+import com.mariamkatamashvili.gym.dto.traineeDto.ProfileResponseDTO;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.Signature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of logging one controller response. {@code previous} reproduces the former aspect body
+ * ({@code toString} plus two regex replacements, done even when INFO is off); {@code current} calls
+ * {@link LoggingAspect}. The appender does what the async appender does on the request thread, preparing
+ * the event for deferred processing, and then drops it so the numbers exclude console I/O. Run with {@code -prof gc} to compare {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingAspectBenchmark {
+    private static final org.slf4j.Logger PREVIOUS_LOG = LoggerFactory.getLogger(LoggingAspectBenchmark.class);
+
+    @Param({"profile", "history"})
+    public String payload;
+
+    @Param({"INFO", "WARN"})
+    public String level;
+
+    private LoggingAspect aspect;
+    private JoinPoint joinPoint;
+    private Object response;
+
+    @Setup
+    public void setUp() {
+        for (Class<?> type : List.of(LoggingAspect.class, LoggingAspectBenchmark.class)) {
+            Logger logger = (Logger) LoggerFactory.getLogger(type);
+            logger.detachAndStopAllAppenders();
+            logger.setAdditive(false);
+            logger.setLevel(Level.valueOf(level));
+            DiscardingAppender appender = new DiscardingAppender();
+            appender.setContext(logger.getLoggerContext());
+            appender.start();
+            logger.addAppender(appender);
+        }
+        MDC.put("X-Transaction-Id", "0f8fad5b-d9cb-469f-a165-70867728950e");
+
+        ResponseLogFormatter formatter = new ResponseLogFormatter();
+        ReflectionTestUtils.setField(formatter, "maxLength", 1000);
+        ReflectionTestUtils.setField(formatter, "maxElements", 3);
+        aspect = new LoggingAspect(formatter);
+        joinPoint = joinPoint("getProfile");
+        response = ResponseEntity.ok("history".equals(payload) ? trainingHistory() : profile());
+    }
+
+    @Benchmark
+    public void previous() {
+        String transactionId = MDC.get("X-Transaction-Id");
+        String methodName = joinPoint.getSignature().getName();
+        String className = joinPoint.getTarget().getClass().getSimpleName();
+
+        String responseToLog = response != null ? response.toString()
+                .replaceAll("password=[^,]+", "password=***")
+                .replaceAll("token=[^,]+", "token=***") : "null";
+
+        PREVIOUS_LOG.info("Transaction ID: {}, Endpoint: {}.{}(), Response: {}",
+                transactionId,
+                className, methodName, responseToLog);
+    }
+
+    @Benchmark
+    public void current() {
+        aspect.logAfterReturning(joinPoint, response);
+    }
+
+    private static ProfileResponseDTO profile() {
+        List<TrainerDTO> trainers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            trainers.add(new TrainerDTO("Trainer.Number" + i, "Trainer", "Number" + i, 1L, "yoga"));
+        }
+        return new ProfileResponseDTO("John", "Doe", LocalDate.of(1990, 5, 17), "Tbilisi", true, trainers);
+    }
+
+    private static TrainingPageDTO trainingHistory() {
+        List<TrainingResponseDTO> trainings = new ArrayList<>();
+        for (long i = 0; i < TrainingPageDTO.MAX_SIZE; i++) {
+            trainings.add(new TrainingResponseDTO(i, "Morning session " + i, LocalDate.of(2024, 1, 1).plusDays(i),
+                    1L, "yoga", 60, "Trainer.Number" + i % 5));
+        }
+        return new TrainingPageDTO(trainings, "MjAyNC0wNS0xNHw0OTk");
+    }
+
+    private static JoinPoint joinPoint(String methodName) {
+        Signature signature = (Signature) Proxy.newProxyInstance(Signature.class.getClassLoader(),
+                new Class<?>[]{Signature.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getName" -> methodName;
+                    case "toShortString" -> "TraineeController." + methodName + "(..)";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        Object target = new TraineeController();
+        return (JoinPoint) Proxy.newProxyInstance(JoinPoint.class.getClassLoader(), new Class<?>[]{JoinPoint.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getSignature" -> signature;
+                    case "getTarget" -> target;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static class TraineeController {
+    }
+
+    private static class DiscardingAppender extends AppenderBase<ILoggingEvent> {
+        @Override
+        protected void append(ILoggingEvent event) {
+            event.prepareForDeferredProcessing();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.mariamkatamashvili.gym.messaging;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mariamkatamashvili.gym.dto.ActionType;
+import com.mariamkatamashvili.gym.dto.WorkloadDTO;
+import jakarta.jms.Connection;
+import jakarta.jms.JMSException;
+import jakarta.jms.Session;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jms.connection.CachingConnectionFactory;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.support.converter.MappingJackson2MessageConverter;
+import org.springframework.jms.support.converter.MessageType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishing throughput of {@link MessageProducer} against an embedded non-persistent ActiveMQ broker:
+ * {@code perMessage} sends a batch one {@code sendMessage} call at a time, {@code batched} sends it through
+ * {@code sendMessages} in one transacted session. A listener discards the messages so the queue stays empty.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageProducerBenchmark {
+    private static final String BROKER_URL = "vm://producer-benchmark?broker.persistent=false&broker.useJmx=false";
+    private static final String DESTINATION = "workload-queue-benchmark";
+    private static final int BATCH_SIZE = 100;
+
+    private CachingConnectionFactory connectionFactory;
+    private Connection consumerConnection;
+    private MessageProducer messageProducer;
+    private List<WorkloadMessage> messages;
+
+    @Setup
+    public void setUp() throws JMSException {
+        ActiveMQConnectionFactory brokerConnectionFactory = new ActiveMQConnectionFactory(BROKER_URL);
+        consumerConnection = brokerConnectionFactory.createConnection();
+        Session session = consumerConnection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        session.createConsumer(session.createQueue(DESTINATION)).setMessageListener(message -> {
+        });
+        consumerConnection.start();
+
+        connectionFactory = new CachingConnectionFactory(brokerConnectionFactory);
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setTargetType(MessageType.TEXT);
+        converter.setTypeIdPropertyName("_type");
+        converter.setObjectMapper(JsonMapper.builder().addModule(new JavaTimeModule()).build());
+
+        JmsTemplate jmsTemplate = new JmsTemplate(connectionFactory);
+        jmsTemplate.setMessageConverter(converter);
+        JmsTemplate batchJmsTemplate = new JmsTemplate(connectionFactory);
+        batchJmsTemplate.setMessageConverter(converter);
+        batchJmsTemplate.setSessionTransacted(true);
+
+        messageProducer = new MessageProducer(jmsTemplate, batchJmsTemplate);
+        ReflectionTestUtils.setField(messageProducer, "destination", DESTINATION);
+        messages = workloads();
+    }
+
+    @TearDown
+    public void tearDown() throws JMSException {
+        connectionFactory.destroy();
+        consumerConnection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void perMessage() {
+        for (WorkloadMessage message : messages) {
+            messageProducer.sendMessage(message.workload(), message.transactionId(), message.token());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void batched() {
+        messageProducer.sendMessages(messages);
+    }
+
+    private static List<WorkloadMessage> workloads() {
+        List<WorkloadMessage> messages = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            WorkloadDTO workload = WorkloadDTO.builder()
+                    .username("trainer" + i)
+                    .firstName("John")
+                    .lastName("Doe")
+                    .isActive(true)
+                    .date(LocalDate.of(2030, 1, 1).plusDays(i))
+                    .duration(60)
+                    .actionType(ActionType.DELETE)
+                    .build();
+            messages.add(new WorkloadMessage(workload, "tx-" + i, "jwt.token"));
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,114 @@
+package com.mariamkatamashvili.gym.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the per-request authentication path. With {@code caches=warm} the claims and principal
+ * caches are sized as in production, so repeated requests with the same token skip signature checks and
+ * repository lookups. With {@code caches=cold} both caches hold nothing and every call parses the token
+ * and reads the repositories. Run with {@code -prof gc} (the profile default) to see allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthBenchmark {
+    private static final String USERNAME = "John.Doe";
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+    private static final long EXPIRATION_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final int ACTIVE_TOKENS = 10_000;
+    private static final long PRODUCTION_CACHE_SIZE = 10_000;
+
+    @Param({"warm", "cold"})
+    public String caches;
+
+    private JwtTokenGenerator jwtTokenGenerator;
+    private GymUserDetailsService userDetailsService;
+    private TokenRegistry tokenRegistry;
+    private GymPrincipal principal;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        long cacheSize = "warm".equals(caches) ? PRODUCTION_CACHE_SIZE : 0;
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        principal = new GymPrincipal(USERNAME, "encoded", true).withRoles(List.of("ROLE_USER"));
+
+        Set<String> storedTokens = new HashSet<>(ACTIVE_TOKENS);
+        for (int i = 0; i < ACTIVE_TOKENS; i++) {
+            storedTokens.add("stored.jwt.token." + i);
+        }
+        tokenRegistry = new TokenRegistry(InMemoryRepositories.tokenRepository(storedTokens), meterRegistry);
+        ReflectionTestUtils.setField(tokenRegistry, "recheckInterval", Duration.ofMinutes(1));
+        tokenRegistry.init();
+
+        jwtTokenGenerator = new JwtTokenGenerator(tokenRegistry, meterRegistry);
+        ReflectionTestUtils.setField(jwtTokenGenerator, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtTokenGenerator, "expiration", EXPIRATION_MILLIS);
+        ReflectionTestUtils.setField(jwtTokenGenerator, "claimsCacheMaxSize", cacheSize);
+        jwtTokenGenerator.init();
+
+        userDetailsService = new GymUserDetailsService(
+                InMemoryRepositories.userRepository(Map.of(USERNAME, principal)), meterRegistry);
+        ReflectionTestUtils.setField(userDetailsService, "maxSize", cacheSize);
+        ReflectionTestUtils.setField(userDetailsService, "expireAfterWrite", Duration.ofMinutes(10));
+        userDetailsService.init();
+
+        token = jwtTokenGenerator.generateToken(principal);
+        storedTokens.add(token);
+        tokenRegistry.register(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenGenerator.generateToken(principal);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtTokenGenerator.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtTokenGenerator.isTokenValid(token, principal);
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        return userDetailsService.loadUserByUsername(USERNAME);
+    }
+
+    /**
+     * The sequence {@link JwtAuthenticationFilter} runs for every authenticated request.
+     */
+    @Benchmark
+    public boolean authenticateRequest() {
+        String username = jwtTokenGenerator.extractUsername(token);
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        return jwtTokenGenerator.isTokenValid(token, userDetails);
+    }
+}
@@ -0,0 +1,46 @@
+package com.mariamkatamashvili.gym.security;
+
+import com.mariamkatamashvili.gym.entity.Token;
+import com.mariamkatamashvili.gym.repository.TokenRepository;
+import com.mariamkatamashvili.gym.repository.UserRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Map backed stand-ins for the repositories on the auth path, so the benchmarks measure token and
+ * principal handling rather than a database round trip. Only the queries the security layer issues
+ * are implemented.
+ */
+final class InMemoryRepositories {
+    private InMemoryRepositories() {
+    }
+
+    static TokenRepository tokenRepository(Set<String> jwtTokens) {
+        return (TokenRepository) Proxy.newProxyInstance(TokenRepository.class.getClassLoader(),
+                new Class<?>[]{TokenRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findByJwtToken" -> Optional.of((String) args[0])
+                            .filter(jwtTokens::contains)
+                            .map(jwtToken -> Token.builder().jwtToken(jwtToken).build());
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    static UserRepository userRepository(Map<String, GymPrincipal> principals) {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findPrincipalByUsername" -> Optional.ofNullable(principals.get((String) args[0]))
+                            .map(principal -> new GymPrincipal(principal.getUsername(), principal.getPassword(),
+                                    principal.isActive()));
+                    case "findRoleNamesByUsername" -> Optional.ofNullable(principals.get((String) args[0]))
+                            .map(principal -> principal.getAuthorities().stream()
+                                    .map(authority -> authority.getAuthority())
+                                    .toList())
+                            .orElse(List.of());
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,14 @@
+package com.mariamkatamashvili.gym.loadtest;
+
+import com.mariamkatamashvili.gym.dto.securityDto.RegistrationResponseDTO;
+
+/**
+ * Credentials and the token issued at registration for one seeded user.
+ */
+record Account(String username, String password, String token) {
+    static Account of(RegistrationResponseDTO registration) {
+        return new Account(registration.getCredentials().getUsername(),
+                registration.getCredentials().getPassword(),
+                registration.getToken().getToken());
+    }
+}
@@ -0,0 +1,9 @@
+package com.mariamkatamashvili.gym.loadtest;
+
+import java.util.List;
+
+/**
+ * The accounts the seeder created. The load driver picks its callers from here.
+ */
+record Dataset(List<Account> trainers, List<Account> trainees) {
+}
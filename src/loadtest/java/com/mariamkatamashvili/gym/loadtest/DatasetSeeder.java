@@ -0,0 +1,160 @@
+package com.mariamkatamashvili.gym.loadtest;
+
+import com.google.common.collect.Lists;
+import com.mariamkatamashvili.gym.dto.securityDto.BulkRegistrationResponseDTO;
+import com.mariamkatamashvili.gym.dto.securityDto.RegistrationResponseDTO;
+import com.mariamkatamashvili.gym.dto.traineeDto.TraineeRefDTO;
+import com.mariamkatamashvili.gym.dto.trainerDto.TrainerRefDTO;
+import com.mariamkatamashvili.gym.dto.trainingTypeDto.TrainingTypeDTO;
+import com.mariamkatamashvili.gym.entity.Trainee;
+import com.mariamkatamashvili.gym.entity.Trainer;
+import com.mariamkatamashvili.gym.entity.Training;
+import com.mariamkatamashvili.gym.entity.TrainingType;
+import com.mariamkatamashvili.gym.repository.TraineeRepository;
+import com.mariamkatamashvili.gym.repository.TrainerRepository;
+import com.mariamkatamashvili.gym.repository.TrainingBatchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds the dataset the load runs against. Accounts go through the public and bulk registration
+ * endpoints, so every user has a real BCrypt hash and token. Bulk registration is admin-only, so the
+ * first trainer is granted ROLE_ADMIN directly in the database before its token is used. Trainer links
+ * and training history are written with JDBC batches because no endpoint creates past trainings.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class DatasetSeeder {
+    static final List<String> FIRST_NAMES = List.of("John", "Jane", "Mariam", "Giorgi", "Nino", "David", "Ana",
+            "Luka", "Elene", "Nika", "Sophia", "Levan", "Tamar", "Irakli", "Mary", "Peter", "Olivia", "Noah",
+            "Emma", "Liam");
+    static final List<String> LAST_NAMES = List.of("Smith", "Doe", "Beridze", "Kapanadze", "Johnson", "Brown",
+            "Maisuradze", "Lee", "Garcia", "Miller", "Davis", "Gelashvili", "Wilson", "Taylor", "Clark");
+    private static final List<String> TRAINING_TYPES = List.of("boxing", "cardio", "gymnastics", "yoga",
+            "pilates", "crossfit", "swimming", "stretching");
+    private static final int REGISTRATION_CHUNK_SIZE = 1000;
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+    private static final int HISTORY_DAYS = 365;
+    private static final int SCHEDULE_DAYS = 60;
+
+    private final GymClient client;
+    private final JdbcTemplate jdbcTemplate;
+    private final TraineeRepository traineeRepo;
+    private final TrainerRepository trainerRepo;
+    private final TrainingBatchRepository trainingBatchRepo;
+    private final Random random = new Random(42);
+
+    Dataset seed(LoadTestSettings settings) {
+        long started = System.nanoTime();
+        jdbcTemplate.batchUpdate("INSERT INTO training_type (training_type_name) VALUES (?)",
+                TRAINING_TYPES.stream().map(name -> new Object[]{name}).toList());
+        List<Long> trainingTypeIds = jdbcTemplate.queryForList("SELECT id FROM training_type", Long.class);
+
+        RegistrationResponseDTO first = client.read(client.send("POST", "/trainers/registration",
+                trainerRequest(trainingTypeIds), null, null), RegistrationResponseDTO.class);
+        String seedToken = first.getToken().getToken();
+        grantAdmin(first.getCredentials().getUsername());
+
+        List<Account> trainers = new ArrayList<>(List.of(Account.of(first)));
+        List<Object> trainerRequests = new ArrayList<>();
+        for (int i = 1; i < settings.trainers(); i++) {
+            trainerRequests.add(trainerRequest(trainingTypeIds));
+        }
+        trainers.addAll(registerAll("/trainers/registration/bulk", trainerRequests, seedToken));
+
+        List<Object> traineeRequests = new ArrayList<>();
+        for (int i = 0; i < settings.trainees(); i++) {
+            traineeRequests.add(new com.mariamkatamashvili.gym.dto.traineeDto.RegistrationRequestDTO(
+                    firstName(), lastName(), LocalDate.of(1970, 1, 1).plusDays(random.nextInt(15_000)), "Tbilisi"));
+        }
+        List<Account> trainees = registerAll("/trainees/registration/bulk", traineeRequests, seedToken);
+
+        int trainings = seedTrainings(settings, trainers, trainees);
+        log.info("Seeded {} trainers, {} trainees and {} trainings in {} ms", trainers.size(), trainees.size(),
+                trainings, (System.nanoTime() - started) / 1_000_000);
+        return new Dataset(List.copyOf(trainers), List.copyOf(trainees));
+    }
+
+    String firstName() {
+        return FIRST_NAMES.get(random.nextInt(FIRST_NAMES.size()));
+    }
+
+    String lastName() {
+        return LAST_NAMES.get(random.nextInt(LAST_NAMES.size()));
+    }
+
+    private Object trainerRequest(List<Long> trainingTypeIds) {
+        TrainingTypeDTO specialization = new TrainingTypeDTO(
+                trainingTypeIds.get(random.nextInt(trainingTypeIds.size())), null);
+        return new com.mariamkatamashvili.gym.dto.trainerDto.RegistrationRequestDTO(
+                firstName(), lastName(), specialization);
+    }
+
+    private void grantAdmin(String username) {
+        jdbcTemplate.update("INSERT INTO role (name) VALUES ('ROLE_ADMIN')");
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) " +
+                "SELECT u.id, r.id FROM user u, role r WHERE u.username = ? AND r.name = 'ROLE_ADMIN'", username);
+    }
+
+    private List<Account> registerAll(String path, List<Object> requests, String token) {
+        List<Account> accounts = new ArrayList<>(requests.size());
+        for (List<Object> chunk : Lists.partition(requests, REGISTRATION_CHUNK_SIZE)) {
+            BulkRegistrationResponseDTO response = client.read(client.send("POST", path, chunk, token, null),
+                    BulkRegistrationResponseDTO.class);
+            if (!response.getErrors().isEmpty()) {
+                throw new IllegalStateException(path + " rejected rows: " + response.getErrors());
+            }
+            response.getRegistrations().forEach(registration -> accounts.add(Account.of(registration)));
+        }
+        return accounts;
+    }
+
+    private int seedTrainings(LoadTestSettings settings, List<Account> trainerAccounts,
+                              List<Account> traineeAccounts) {
+        List<TrainerRefDTO> trainers = new ArrayList<>();
+        for (List<Account> chunk : Lists.partition(trainerAccounts, LOOKUP_CHUNK_SIZE)) {
+            trainers.addAll(trainerRepo.findRefsByUsernameIn(chunk.stream().map(Account::username).toList()));
+        }
+        List<TraineeRefDTO> trainees = new ArrayList<>();
+        for (List<Account> chunk : Lists.partition(traineeAccounts, LOOKUP_CHUNK_SIZE)) {
+            trainees.addAll(traineeRepo.findRefsByUsernameIn(chunk.stream().map(Account::username).toList()));
+        }
+
+        List<Object[]> links = new ArrayList<>();
+        List<Training> trainings = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (TraineeRefDTO trainee : trainees) {
+            List<TrainerRefDTO> assigned = new ArrayList<>();
+            for (int i = 0; i < Math.min(settings.trainersPerTrainee(), trainers.size()); i++) {
+                TrainerRefDTO trainer = trainers.get(random.nextInt(trainers.size()));
+                if (!assigned.contains(trainer)) {
+                    assigned.add(trainer);
+                    links.add(new Object[]{trainee.id(), trainer.id()});
+                }
+            }
+            if (assigned.isEmpty()) {
+                continue;
+            }
+            for (int i = 0; i < settings.trainingsPerTrainee(); i++) {
+                TrainerRefDTO trainer = assigned.get(random.nextInt(assigned.size()));
+                trainings.add(Training.builder()
+                        .trainee(Trainee.builder().id(trainee.id()).build())
+                        .trainer(Trainer.builder().id(trainer.id()).build())
+                        .trainingType(TrainingType.builder().id(trainer.specializationId()).build())
+                        .trainingName("Session " + i)
+                        .trainingDate(today.plusDays(random.nextInt(HISTORY_DAYS + SCHEDULE_DAYS) - HISTORY_DAYS))
+                        .duration(30 + random.nextInt(4) * 15)
+                        .build());
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO trainee_trainer (trainee_id, trainer_id) VALUES (?, ?)", links);
+        trainingBatchRepo.insertAll(trainings);
+        return trainings.size();
+    }
+}
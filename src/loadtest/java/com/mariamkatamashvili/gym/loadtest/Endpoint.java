@@ -0,0 +1,23 @@
+package com.mariamkatamashvili.gym.loadtest;
+
+/**
+ * The calls the load driver mixes. Each key is also the suffix of its {@code loadtest.mix.*} weight.
+ */
+enum Endpoint {
+    LOGIN("login"),
+    TRAINEE_PROFILE("trainee-profile"),
+    TRAINER_PROFILE("trainer-profile"),
+    TRAINING_HISTORY("training-history"),
+    CREATE_TRAINING("create-training"),
+    REGISTRATION("registration");
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+}
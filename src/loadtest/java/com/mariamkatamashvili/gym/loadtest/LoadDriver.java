@@ -0,0 +1,205 @@
+package com.mariamkatamashvili.gym.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.mariamkatamashvili.gym.dto.trainingDto.TrainingRequestDTO;
+import com.mariamkatamashvili.gym.dto.trainingDto.TrainingsRequestDTO;
+import com.mariamkatamashvili.gym.dto.userDto.LoginRequestDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+
+import java.io.PrintStream;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the weighted request mix from a fixed number of closed-loop workers. Each worker picks an endpoint
+ * and a seeded account, waits for the response and immediately issues the next call. Latencies are only
+ * recorded after the warm-up period, and only for successful responses; failures are counted by status.
+ */
+@Slf4j
+class LoadDriver {
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+    private static final int HISTORY_PAGE_SIZE = 20;
+    private static final int TRANSPORT_ERROR = -1;
+
+    private final GymClient client;
+    private final DatasetSeeder seeder;
+    private final Dataset dataset;
+    private final LoadTestSettings settings;
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<Endpoint, Timer> timers = new EnumMap<>(Endpoint.class);
+    private final Map<String, String> eTags = new ConcurrentHashMap<>();
+    private final Map<String, String> tokens = new ConcurrentHashMap<>();
+    private final Endpoint[] weighted;
+
+    LoadDriver(GymClient client, DatasetSeeder seeder, Dataset dataset, LoadTestSettings settings) {
+        this.client = client;
+        this.seeder = seeder;
+        this.dataset = dataset;
+        this.settings = settings;
+        this.weighted = settings.mix().entrySet().stream()
+                .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                .toArray(Endpoint[]::new);
+        dataset.trainers().forEach(account -> tokens.put(account.username(), account.token()));
+        dataset.trainees().forEach(account -> tokens.put(account.username(), account.token()));
+        Duration window = settings.warmup().plus(settings.duration()).multipliedBy(2);
+        for (Endpoint endpoint : Endpoint.values()) {
+            timers.put(endpoint, Timer.builder("loadtest.request")
+                    .tag("endpoint", endpoint.key())
+                    .publishPercentiles(PERCENTILES)
+                    .percentilePrecision(2)
+                    .distributionStatisticExpiry(window)
+                    .distributionStatisticBufferLength(1)
+                    .register(meterRegistry));
+        }
+    }
+
+    void run() throws InterruptedException {
+        if (weighted.length == 0) {
+            throw new IllegalStateException("All loadtest.mix weights are zero");
+        }
+        long measureFrom = System.nanoTime() + settings.warmup().toNanos();
+        long stopAt = measureFrom + settings.duration().toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(settings.concurrency(),
+                new ThreadFactoryBuilder().setNameFormat("loadtest-worker-%d").build());
+        log.info("Running {} workers for {} after a {} warm-up", settings.concurrency(), settings.duration(),
+                settings.warmup());
+        for (int i = 0; i < settings.concurrency(); i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < stopAt) {
+                    Endpoint endpoint = weighted[ThreadLocalRandom.current().nextInt(weighted.length)];
+                    long started = System.nanoTime();
+                    int status = call(endpoint);
+                    if (started >= measureFrom) {
+                        record(endpoint, status, System.nanoTime() - started);
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(settings.warmup().plus(settings.duration()).toSeconds() + 60, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+
+    void report(PrintStream out) {
+        double seconds = settings.duration().toMillis() / 1000.0;
+        out.printf("%n%-18s %10s %8s %10s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        long totalRequests = 0;
+        long totalErrors = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            Timer timer = timers.get(endpoint);
+            long errors = errors(endpoint);
+            long requests = timer.count() + errors;
+            totalRequests += requests;
+            totalErrors += errors;
+            ValueAtPercentile[] percentiles = timer.takeSnapshot().percentileValues();
+            out.printf("%-18s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n", endpoint.key(), requests, errors,
+                    requests / seconds, percentiles[0].value(TimeUnit.MILLISECONDS),
+                    percentiles[1].value(TimeUnit.MILLISECONDS), percentiles[2].value(TimeUnit.MILLISECONDS),
+                    timer.max(TimeUnit.MILLISECONDS));
+        }
+        out.printf("%-18s %10d %8d %10.1f%n", "total", totalRequests, totalErrors, totalRequests / seconds);
+        meterRegistry.find("loadtest.errors").counters().forEach(counter -> out.printf("  %s returned %s: %d%n",
+                counter.getId().getTag("endpoint"), counter.getId().getTag("status"), (long) counter.count()));
+    }
+
+    private int call(Endpoint endpoint) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Account trainee = pick(dataset.trainees(), random);
+        try {
+            return switch (endpoint) {
+                case LOGIN -> login(trainee);
+                case TRAINEE_PROFILE -> conditionalGet("/trainees/" + trainee.username() + "/profile", trainee);
+                case TRAINER_PROFILE -> {
+                    Account trainer = pick(dataset.trainers(), random);
+                    yield conditionalGet("/trainers/" + trainer.username() + "/profile", trainer);
+                }
+                case TRAINING_HISTORY -> {
+                    TrainingsRequestDTO request = new TrainingsRequestDTO();
+                    request.setUsername(trainee.username());
+                    request.setSize(HISTORY_PAGE_SIZE);
+                    yield client.send("GET", "/trainees/" + trainee.username() + "/trainings", request,
+                            tokens.get(trainee.username()), null).statusCode();
+                }
+                case CREATE_TRAINING -> client.send("POST", "/trainings", TrainingRequestDTO.builder()
+                        .traineeUsername(trainee.username())
+                        .trainerUsername(pick(dataset.trainers(), random).username())
+                        .trainingName("Load test session")
+                        .date(LocalDate.now().plusDays(1 + random.nextInt(60)))
+                        .duration(60)
+                        .build(), tokens.get(trainee.username()), null).statusCode();
+                case REGISTRATION -> client.send("POST", "/trainees/registration",
+                        new com.mariamkatamashvili.gym.dto.traineeDto.RegistrationRequestDTO(
+                                seeder.firstName(), seeder.lastName(), null, null), null, null).statusCode();
+            };
+        } catch (RuntimeException e) {
+            log.debug("{} failed: {}", endpoint.key(), e.getMessage());
+            return TRANSPORT_ERROR;
+        }
+    }
+
+    /**
+     * A successful login revokes the user's previous tokens, so the new one replaces it for later calls.
+     * Requests already in flight with the old token can still see a 401, as a real client would.
+     */
+    private int login(Account account) {
+        HttpResponse<String> response = client.send("GET", "/users/login",
+                new LoginRequestDTO(account.username(), account.password()), null, null);
+        if (response.statusCode() == 200) {
+            JsonNode body = client.read(response, JsonNode.class);
+            tokens.put(account.username(), body.path("token").path("token").asText());
+        }
+        return response.statusCode();
+    }
+
+    /**
+     * Profile polling as a mobile client does it: the last ETag seen for the user is sent back, so an
+     * unchanged profile costs a 304.
+     */
+    private int conditionalGet(String path, Account account) {
+        HttpResponse<String> response = client.send("GET", path, null, tokens.get(account.username()),
+                eTags.get(path));
+        response.headers().firstValue(HttpHeaders.ETAG).ifPresent(eTag -> eTags.put(path, eTag));
+        return response.statusCode();
+    }
+
+    private void record(Endpoint endpoint, int status, long elapsedNanos) {
+        if (status >= 200 && status < 400) {
+            timers.get(endpoint).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        } else {
+            Counter.builder("loadtest.errors")
+                    .tag("endpoint", endpoint.key())
+                    .tag("status", status == TRANSPORT_ERROR ? "io-error" : String.valueOf(status))
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private long errors(Endpoint endpoint) {
+        return (long) meterRegistry.find("loadtest.errors").tag("endpoint", endpoint.key()).counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private static Account pick(List<Account> accounts, ThreadLocalRandom random) {
+        return accounts.get(random.nextInt(accounts.size()));
+    }
+}
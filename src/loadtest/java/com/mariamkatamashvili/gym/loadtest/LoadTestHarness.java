@@ -0,0 +1,79 @@
+package com.mariamkatamashvili.gym.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mariamkatamashvili.gym.GymApplication;
+import com.mariamkatamashvili.gym.repository.TraineeRepository;
+import com.mariamkatamashvili.gym.repository.TrainerRepository;
+import com.mariamkatamashvili.gym.repository.TrainingBatchRepository;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.MessageListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Boots the application on a random port against in-memory H2 and an embedded ActiveMQ broker, seeds a
+ * dataset and drives the request mix over HTTP. Run it through the {@code loadtest} Maven profile; any
+ * {@code loadtest.*} or application property can be overridden with {@code -Dloadtest.args="--name=value"}.
+ */
+@Slf4j
+public class LoadTestHarness {
+
+    public static void main(String[] args) throws InterruptedException {
+        // devtools is on the test classpath; its restart classloader would only add noise to the numbers
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(GymApplication.class)
+                .profiles("loadtest")
+                .run(args);
+        Environment environment = context.getEnvironment();
+        LoadTestSettings settings = LoadTestSettings.from(environment);
+        int port = environment.getRequiredProperty("local.server.port", Integer.class);
+        log.info("Application started on port {} with virtual threads {}", port,
+                environment.getProperty("spring.threads.virtual.enabled", "false"));
+
+        AtomicLong delivered = new AtomicLong();
+        DefaultMessageListenerContainer consumer = workloadConsumer(context, environment, delivered);
+
+        int exitCode = 0;
+        try {
+            GymClient client = new GymClient(context.getBean(ObjectMapper.class), port);
+            DatasetSeeder seeder = new DatasetSeeder(client, context.getBean(JdbcTemplate.class),
+                    context.getBean(TraineeRepository.class), context.getBean(TrainerRepository.class),
+                    context.getBean(TrainingBatchRepository.class));
+            Dataset dataset = seeder.seed(settings);
+
+            LoadDriver driver = new LoadDriver(client, seeder, dataset, settings);
+            driver.run();
+            driver.report(System.out);
+            System.out.printf("workload messages delivered to the broker consumer: %d%n", delivered.get());
+        } catch (RuntimeException e) {
+            log.error("Load test failed", e);
+            exitCode = 1;
+        } finally {
+            consumer.shutdown();
+        }
+        System.exit(SpringApplication.exit(context, () -> 0) + exitCode);
+    }
+
+    /**
+     * Drains the workload queue so the embedded broker does not accumulate every message produced during
+     * the run, and counts deliveries as a rough check that the outbox relay kept up.
+     */
+    private static DefaultMessageListenerContainer workloadConsumer(ConfigurableApplicationContext context,
+                                                                    Environment environment,
+                                                                    AtomicLong delivered) {
+        DefaultMessageListenerContainer container = new DefaultMessageListenerContainer();
+        container.setConnectionFactory(context.getBean(ConnectionFactory.class));
+        container.setDestinationName(environment.getRequiredProperty("messaging.jms.destination"));
+        container.setMessageListener((MessageListener) message -> delivered.incrementAndGet());
+        container.afterPropertiesSet();
+        container.start();
+        return container;
+    }
+}
@@ -0,0 +1,31 @@
+package com.mariamkatamashvili.gym.loadtest;
+
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Dataset size and workload shape, read from the {@code loadtest.*} properties. Defaults live in
+ * {@code application-loadtest.properties}; any of them can be overridden on the command line.
+ */
+record LoadTestSettings(int trainers, int trainees, int trainersPerTrainee, int trainingsPerTrainee,
+                        int concurrency, Duration warmup, Duration duration, Map<Endpoint, Integer> mix) {
+
+    static LoadTestSettings from(Environment environment) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            mix.put(endpoint, environment.getRequiredProperty("loadtest.mix." + endpoint.key(), Integer.class));
+        }
+        return new LoadTestSettings(
+                environment.getRequiredProperty("loadtest.trainers", Integer.class),
+                environment.getRequiredProperty("loadtest.trainees", Integer.class),
+                environment.getRequiredProperty("loadtest.trainers-per-trainee", Integer.class),
+                environment.getRequiredProperty("loadtest.trainings-per-trainee", Integer.class),
+                environment.getRequiredProperty("loadtest.concurrency", Integer.class),
+                environment.getRequiredProperty("loadtest.warmup", Duration.class),
+                environment.getRequiredProperty("loadtest.duration", Duration.class),
+                mix);
+    }
+}
@@ -0,0 +1,105 @@
+package com.mariamkatamashvili.gym.loadtest.dataset;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes one tab-separated file per table in the default {@code LOAD DATA} format (backslash escapes,
+ * {@code \N} for null) plus a {@code load-data.sql} script that loads them in foreign-key order.
+ */
+class DelimitedFileSink implements RowSink {
+    static final String SCRIPT_NAME = "load-data.sql";
+
+    private final Path directory;
+    private final List<String> statements = new ArrayList<>();
+
+    DelimitedFileSink(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Table table(String name, List<String> columns) {
+        Path file = directory.resolve(name + ".tsv").toAbsolutePath();
+        statements.add("LOAD DATA LOCAL INFILE '" + file + "' INTO TABLE " + name
+                + " CHARACTER SET utf8mb4 (" + String.join(", ", columns) + ");");
+        try {
+            return new FileTable(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            Files.write(directory.resolve(SCRIPT_NAME), statements, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String format(Object value) {
+        if (value == null) {
+            return "\\N";
+        }
+        if (value instanceof Boolean flag) {
+            return flag ? "1" : "0";
+        }
+        String text = value.toString();
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case '\t' -> escaped.append("\\t");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static class FileTable implements Table {
+        private final BufferedWriter writer;
+
+        FileTable(BufferedWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void row(Object... values) {
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        writer.write('\t');
+                    }
+                    writer.write(format(values[i]));
+                }
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
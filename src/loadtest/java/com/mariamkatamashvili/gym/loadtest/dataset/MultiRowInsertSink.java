@@ -0,0 +1,74 @@
+package com.mariamkatamashvili.gym.loadtest.dataset;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Writes rows as multi-row {@code INSERT ... VALUES (...), (...)} statements, one round trip per
+ * {@code rowsPerStatement} rows. MySQL caps a prepared statement at 65,535 placeholders, so keep
+ * {@code rowsPerStatement} times the widest table's column count below that.
+ */
+@RequiredArgsConstructor
+class MultiRowInsertSink implements RowSink {
+    private final JdbcTemplate jdbcTemplate;
+    private final int rowsPerStatement;
+
+    @Override
+    public Table table(String name, List<String> columns) {
+        return new InsertTable(name, columns);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private class InsertTable implements Table {
+        private final String name;
+        private final List<String> columns;
+        private final String fullStatement;
+        private final List<Object> values;
+        private int rows;
+
+        InsertTable(String name, List<String> columns) {
+            this.name = name;
+            this.columns = columns;
+            this.fullStatement = statement(rowsPerStatement);
+            this.values = new ArrayList<>(rowsPerStatement * columns.size());
+        }
+
+        @Override
+        public void row(Object... row) {
+            if (row.length != columns.size()) {
+                throw new IllegalArgumentException(name + " expects " + columns.size() + " values, got " + row.length);
+            }
+            Collections.addAll(values, row);
+            if (++rows == rowsPerStatement) {
+                flush();
+            }
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+
+        private void flush() {
+            if (rows == 0) {
+                return;
+            }
+            jdbcTemplate.update(rows == rowsPerStatement ? fullStatement : statement(rows), values.toArray());
+            values.clear();
+            rows = 0;
+        }
+
+        private String statement(int rowCount) {
+            String placeholders = "(" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+            return "INSERT INTO " + name + " (" + String.join(", ", columns) + ") VALUES "
+                    + String.join(", ", Collections.nCopies(rowCount, placeholders));
+        }
+    }
+}
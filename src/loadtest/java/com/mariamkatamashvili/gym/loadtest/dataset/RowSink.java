@@ -0,0 +1,23 @@
+package com.mariamkatamashvili.gym.loadtest.dataset;
+
+import java.util.List;
+
+/**
+ * Destination for generated rows. Tables are opened in foreign-key order and several may be open at
+ * once; a table's rows are only guaranteed to be written once it is closed.
+ */
+interface RowSink extends AutoCloseable {
+
+    Table table(String name, List<String> columns);
+
+    @Override
+    void close();
+
+    interface Table extends AutoCloseable {
+
+        void row(Object... values);
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,99 @@
+package com.mariamkatamashvili.gym.loadtest.dataset;
+
+import com.mariamkatamashvili.gym.GymApplication;
+import com.mariamkatamashvili.gym.dto.trainingTypeDto.TrainingTypeDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk-loads a synthetic dataset for checking query plans at scale. The application context is started
+ * without a web server so the schema and datasource come from the normal configuration (MySQL unless
+ * overridden). Rows go straight to the database as multi-row inserts, or, with {@code --dataset.output=dir},
+ * into {@code LOAD DATA} files plus a script to load them. Both modes expect empty gym tables.
+ */
+@Slf4j
+public class SyntheticDataset {
+    private static final int BCRYPT_STRENGTH = 10;
+
+    public static void main(String[] args) throws NoSuchAlgorithmException {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(GymApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("dataset")
+                .run(args);
+        SyntheticDatasetSettings settings = SyntheticDatasetSettings.from(context.getEnvironment());
+        SyntheticDatasetGenerator generator = new SyntheticDatasetGenerator(settings, passwordHash(settings));
+
+        if (settings.output().isBlank()) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            requireEmpty(jdbcTemplate);
+            List<TrainingTypeDTO> trainingTypes = trainingTypes(jdbcTemplate);
+            try (RowSink sink = new MultiRowInsertSink(jdbcTemplate, settings.rowsPerInsert())) {
+                generator.generate(sink, trainingTypes);
+            }
+        } else {
+            Path directory = Path.of(settings.output());
+            try (RowSink sink = new DelimitedFileSink(directory)) {
+                generator.generate(sink, writeTrainingTypes(sink));
+            }
+            log.info("Load the files with: mysql --local-infile=1 gym_db < {}",
+                    directory.resolve(DelimitedFileSink.SCRIPT_NAME).toAbsolutePath());
+        }
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    /**
+     * Every generated user shares one hash of {@code dataset.password}; hashing millions of passwords
+     * would dominate the run. The salt comes from the seed so the output stays reproducible.
+     */
+    private static String passwordHash(SyntheticDatasetSettings settings) throws NoSuchAlgorithmException {
+        SecureRandom saltSource = SecureRandom.getInstance("SHA1PRNG");
+        saltSource.setSeed(ByteBuffer.allocate(Long.BYTES).putLong(settings.seed()).array());
+        return new BCryptPasswordEncoder(BCRYPT_STRENGTH, saltSource).encode(settings.password());
+    }
+
+    private static void requireEmpty(JdbcTemplate jdbcTemplate) {
+        for (String table : List.of("user", "trainee", "trainer", "training", "username_sequence")) {
+            Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+            if (rows != null && rows > 0) {
+                throw new IllegalStateException("Table " + table + " already has " + rows
+                        + " rows; the generator writes explicit ids and needs empty gym tables");
+            }
+        }
+    }
+
+    private static List<TrainingTypeDTO> trainingTypes(JdbcTemplate jdbcTemplate) {
+        List<TrainingTypeDTO> trainingTypes = jdbcTemplate.query("SELECT id, training_type_name FROM training_type",
+                (rs, rowNum) -> new TrainingTypeDTO(rs.getLong(1), rs.getString(2)));
+        if (!trainingTypes.isEmpty()) {
+            return trainingTypes;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO training_type (training_type_name) VALUES (?)",
+                SyntheticDatasetGenerator.TRAINING_TYPES.stream().map(name -> new Object[]{name}).toList());
+        return trainingTypes(jdbcTemplate);
+    }
+
+    private static List<TrainingTypeDTO> writeTrainingTypes(RowSink sink) {
+        List<TrainingTypeDTO> trainingTypes = new ArrayList<>();
+        try (RowSink.Table table = sink.table("training_type", List.of("id", "training_type_name"))) {
+            for (String name : SyntheticDatasetGenerator.TRAINING_TYPES) {
+                TrainingTypeDTO trainingType = new TrainingTypeDTO(trainingTypes.size() + 1L, name);
+                table.row(trainingType.getTrainingTypeId(), name);
+                trainingTypes.add(trainingType);
+            }
+        }
+        return trainingTypes;
+    }
+}
@@ -0,0 +1,201 @@
+package com.mariamkatamashvili.gym.loadtest.dataset;
+
+import com.mariamkatamashvili.gym.dto.trainingTypeDto.TrainingTypeDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+/**
+ * Generates users, trainers, trainees, trainer links and training history with explicit ids, streaming
+ * every table straight into a {@link RowSink}. Each table draws from its own random stream derived from
+ * the seed, so changing one distribution does not reshuffle the others.
+ *
+ * <ul>
+ *     <li>First and last names are Zipf-distributed over small pools, so popular base names such as
+ *     {@code John.Smith} collide thousands of times and get suffixes the way {@code UsernameGenerator}
+ *     assigns them; {@code username_sequence} is written to match.</li>
+ *     <li>Trainer popularity is Zipf-distributed over a shuffled ranking: a few trainers appear in most
+ *     trainee links and trainings.</li>
+ *     <li>Training dates follow a seasonal curve with a January peak, a summer dip and lighter weekends,
+ *     from {@code historyYears} before the anchor date to {@value #SCHEDULE_DAYS} days after it.</li>
+ * </ul>
+ */
+@Slf4j
+@RequiredArgsConstructor
+class SyntheticDatasetGenerator {
+    static final List<String> FIRST_NAMES = List.of("John", "Mary", "David", "Nino", "Giorgi", "Ana", "Michael",
+            "Sarah", "Luka", "Mariam", "James", "Elene", "Daniel", "Tamar", "Nika", "Emma", "Levan", "Olivia",
+            "Irakli", "Sophia", "Peter", "Anna", "Alexander", "Natia", "Thomas", "Salome", "William", "Keti",
+            "Robert", "Lisa", "Sandro", "Laura", "Paul", "Maka", "George", "Julia", "Dato", "Eka", "Mark", "Lika");
+    static final List<String> LAST_NAMES = List.of("Smith", "Beridze", "Johnson", "Kapanadze", "Brown",
+            "Maisuradze", "Williams", "Gelashvili", "Jones", "Lomidze", "Miller", "Giorgadze", "Davis", "Tsiklauri",
+            "Garcia", "Abashidze", "Wilson", "Mamedov", "Taylor", "Kvaratskhelia", "Clark", "Chikovani", "Lewis",
+            "Japaridze", "Walker", "Khutsishvili", "Hall", "Nozadze", "Allen", "Gogoladze", "Young", "Dolidze",
+            "King", "Bakradze", "Wright", "Kiknadze", "Scott", "Shengelia", "Green", "Kobakhidze");
+    static final List<String> TRAINING_TYPES = List.of("boxing", "cardio", "gymnastics", "yoga", "pilates",
+            "crossfit", "swimming", "stretching");
+    private static final List<String> CITIES = List.of("Tbilisi", "Batumi", "Kutaisi", "Rustavi", "Zugdidi",
+            "Gori", "Poti", "Telavi");
+    private static final double[] MONTH_WEIGHTS = {1.45, 1.3, 1.15, 1.05, 1.0, 0.85, 0.7, 0.75, 1.2, 1.1, 1.0, 0.65};
+    private static final double[] WEEKDAY_WEIGHTS = {1.2, 1.15, 1.1, 1.05, 0.9, 0.7, 0.5};
+    private static final int SCHEDULE_DAYS = 60;
+    private static final int INACTIVE_PERCENT = 5;
+    private static final int PROGRESS_INTERVAL = 1_000_000;
+
+    private final SyntheticDatasetSettings settings;
+    private final String passwordHash;
+
+    void generate(RowSink sink, List<TrainingTypeDTO> trainingTypes) {
+        long started = System.nanoTime();
+        int baseNames = writeUsers(sink);
+        long[] specializations = writeTrainers(sink, trainingTypes);
+        writeTrainees(sink);
+        long trainings = writeLinksAndTrainings(sink, specializations, trainingTypes);
+        log.info("Generated {} trainers, {} trainees, {} base names and {} trainings in {} s", settings.trainers(),
+                settings.trainees(), baseNames, trainings, (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+    private int writeUsers(RowSink sink) {
+        SplittableRandom random = random(1);
+        WeightedSampler firstNames = WeightedSampler.zipf(FIRST_NAMES.size(), settings.namePopularityExponent());
+        WeightedSampler lastNames = WeightedSampler.zipf(LAST_NAMES.size(), settings.namePopularityExponent());
+        Map<String, Long> counts = new TreeMap<>();
+        long total = (long) settings.trainers() + settings.trainees();
+        try (RowSink.Table users = sink.table("user",
+                List.of("id", "first_name", "last_name", "username", "password", "is_active", "version"))) {
+            for (long id = 1; id <= total; id++) {
+                String first = FIRST_NAMES.get(firstNames.sample(random));
+                String last = LAST_NAMES.get(lastNames.sample(random));
+                String baseName = first + "." + last;
+                long suffix = counts.merge(baseName, 1L, Long::sum) - 1;
+                users.row(id, first, last, suffix == 0 ? baseName : baseName + suffix, passwordHash,
+                        random.nextInt(100) >= INACTIVE_PERCENT, 0);
+                logProgress("users", id);
+            }
+        }
+        try (RowSink.Table sequences = sink.table("username_sequence", List.of("base_name", "last_suffix"))) {
+            counts.forEach((baseName, count) -> sequences.row(baseName, count - 1));
+        }
+        return counts.size();
+    }
+
+    private long[] writeTrainers(RowSink sink, List<TrainingTypeDTO> trainingTypes) {
+        SplittableRandom random = random(2);
+        long[] specializations = new long[settings.trainers()];
+        try (RowSink.Table trainers = sink.table("trainer", List.of("id", "specialization", "user_id", "version"))) {
+            for (int i = 0; i < settings.trainers(); i++) {
+                specializations[i] = trainingTypes.get(random.nextInt(trainingTypes.size())).getTrainingTypeId();
+                trainers.row(i + 1L, specializations[i], i + 1L, 0);
+            }
+        }
+        return specializations;
+    }
+
+    private void writeTrainees(RowSink sink) {
+        SplittableRandom random = random(3);
+        LocalDate oldestBirthday = settings.anchorDate().minusYears(65);
+        int birthdayRange = (int) ChronoUnit.DAYS.between(oldestBirthday, settings.anchorDate().minusYears(16));
+        try (RowSink.Table trainees = sink.table("trainee",
+                List.of("id", "birthday", "address", "user_id", "version"))) {
+            for (long id = 1; id <= settings.trainees(); id++) {
+                trainees.row(id, oldestBirthday.plusDays(random.nextInt(birthdayRange)),
+                        CITIES.get(random.nextInt(CITIES.size())), settings.trainers() + id, 0);
+                logProgress("trainees", id);
+            }
+        }
+    }
+
+    private long writeLinksAndTrainings(RowSink sink, long[] specializations, List<TrainingTypeDTO> trainingTypes) {
+        SplittableRandom random = random(4);
+        int[] trainersByRank = shuffledTrainerIds(random);
+        WeightedSampler popularity = WeightedSampler.zipf(trainersByRank.length, settings.trainerPopularityExponent());
+        LocalDate firstDay = settings.anchorDate().minusYears(settings.historyYears());
+        WeightedSampler days = seasonalDays(firstDay, settings.anchorDate().plusDays(SCHEDULE_DAYS));
+        Map<Long, String> typeNames = new TreeMap<>();
+        trainingTypes.forEach(type -> typeNames.put(type.getTrainingTypeId(), type.getTrainingTypeName()));
+
+        long trainingId = 0;
+        int[] assigned = new int[Math.min(settings.trainersPerTrainee(), settings.trainers())];
+        try (RowSink.Table links = sink.table("trainee_trainer", List.of("trainee_id", "trainer_id"));
+             RowSink.Table trainings = sink.table("training", List.of("id", "trainee_id", "trainer_id",
+                     "training_name", "training_type_id", "training_date", "duration"))) {
+            for (long traineeId = 1; traineeId <= settings.trainees(); traineeId++) {
+                int linkCount = pickDistinctTrainers(random, popularity, trainersByRank, assigned,
+                        1 + random.nextInt(assigned.length));
+                for (int i = 0; i < linkCount; i++) {
+                    links.row(traineeId, (long) assigned[i]);
+                }
+                int trainingCount = random.nextInt(2 * settings.trainingsPerTrainee() + 1);
+                for (int i = 0; i < trainingCount; i++) {
+                    int trainerId = assigned[random.nextInt(linkCount)];
+                    long typeId = specializations[trainerId - 1];
+                    trainings.row(++trainingId, traineeId, (long) trainerId, typeNames.get(typeId) + " session",
+                            typeId, firstDay.plusDays(days.sample(random)), 30 + 15 * random.nextInt(5));
+                }
+                logProgress("trainees linked", traineeId);
+            }
+        }
+        return trainingId;
+    }
+
+    /**
+     * Draws trainers by popularity until {@code wanted} distinct ones are found. With a steep exponent and
+     * few trainers the tail is rarely hit, so the attempts are bounded and a trainee may end up with fewer.
+     */
+    private static int pickDistinctTrainers(SplittableRandom random, WeightedSampler popularity,
+                                            int[] trainersByRank, int[] assigned, int wanted) {
+        int count = 0;
+        for (int attempt = 0; attempt < wanted * 20 && count < wanted; attempt++) {
+            int trainerId = trainersByRank[popularity.sample(random)];
+            boolean duplicate = false;
+            for (int i = 0; i < count && !duplicate; i++) {
+                duplicate = assigned[i] == trainerId;
+            }
+            if (!duplicate) {
+                assigned[count++] = trainerId;
+            }
+        }
+        return count;
+    }
+
+    private int[] shuffledTrainerIds(SplittableRandom random) {
+        int[] ids = new int[settings.trainers()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i + 1;
+        }
+        for (int i = ids.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = ids[i];
+            ids[i] = ids[j];
+            ids[j] = swap;
+        }
+        return ids;
+    }
+
+    private static WeightedSampler seasonalDays(LocalDate firstDay, LocalDate lastDay) {
+        double[] weights = new double[(int) ChronoUnit.DAYS.between(firstDay, lastDay) + 1];
+        for (int i = 0; i < weights.length; i++) {
+            LocalDate day = firstDay.plusDays(i);
+            weights[i] = MONTH_WEIGHTS[day.getMonthValue() - 1]
+                    * WEEKDAY_WEIGHTS[day.getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue()];
+        }
+        return new WeightedSampler(weights);
+    }
+
+    private SplittableRandom random(int stream) {
+        return new SplittableRandom(settings.seed() * 31 + stream);
+    }
+
+    private static void logProgress(String what, long count) {
+        if (count % PROGRESS_INTERVAL == 0) {
+            log.info("{} {} written", count, what);
+        }
+    }
+}
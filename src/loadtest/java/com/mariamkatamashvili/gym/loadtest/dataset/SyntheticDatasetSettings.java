@@ -0,0 +1,40 @@
+package com.mariamkatamashvili.gym.loadtest.dataset;
+
+import org.springframework.core.env.Environment;
+
+import java.time.LocalDate;
+
+/**
+ * Shape of the generated dataset, read from the {@code dataset.*} properties. Defaults live in
+ * {@code application-dataset.properties}. The same seed and anchor date always produce the same rows.
+ */
+record SyntheticDatasetSettings(long seed, int trainers, int trainees, int trainersPerTrainee,
+                                int trainingsPerTrainee, double trainerPopularityExponent,
+                                double namePopularityExponent, int historyYears, LocalDate anchorDate,
+                                String password, int rowsPerInsert, String output) {
+
+    SyntheticDatasetSettings {
+        if (trainers < 1 || trainees < 0 || trainersPerTrainee < 1 || trainingsPerTrainee < 0
+                || historyYears < 1 || rowsPerInsert < 1) {
+            throw new IllegalArgumentException("dataset.trainers, trainers-per-trainee, history-years and "
+                    + "rows-per-insert must be positive; trainees and trainings-per-trainee must not be negative");
+        }
+    }
+
+    static SyntheticDatasetSettings from(Environment environment) {
+        String anchorDate = environment.getProperty("dataset.anchor-date", "");
+        return new SyntheticDatasetSettings(
+                environment.getRequiredProperty("dataset.seed", Long.class),
+                environment.getRequiredProperty("dataset.trainers", Integer.class),
+                environment.getRequiredProperty("dataset.trainees", Integer.class),
+                environment.getRequiredProperty("dataset.trainers-per-trainee", Integer.class),
+                environment.getRequiredProperty("dataset.trainings-per-trainee", Integer.class),
+                environment.getRequiredProperty("dataset.trainer-popularity-exponent", Double.class),
+                environment.getRequiredProperty("dataset.name-popularity-exponent", Double.class),
+                environment.getRequiredProperty("dataset.history-years", Integer.class),
+                anchorDate.isBlank() ? LocalDate.now() : LocalDate.parse(anchorDate),
+                environment.getRequiredProperty("dataset.password"),
+                environment.getRequiredProperty("dataset.rows-per-insert", Integer.class),
+                environment.getProperty("dataset.output", ""));
+    }
+}
@@ -0,0 +1,50 @@
+package com.mariamkatamashvili.gym.loadtest.dataset;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Draws indexes in proportion to fixed weights by binary search over the cumulative sums, so a sample
+ * costs O(log n) regardless of how skewed the weights are.
+ */
+final class WeightedSampler {
+    private final double[] cumulative;
+
+    WeightedSampler(double[] weights) {
+        if (weights.length == 0) {
+            throw new IllegalArgumentException("At least one weight is required");
+        }
+        cumulative = new double[weights.length];
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            cumulative[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Weights must add up to a positive total");
+        }
+    }
+
+    /**
+     * Rank {@code k} (zero-based) gets weight {@code 1 / (k + 1)^exponent}: a handful of ranks take most
+     * of the draws and the rest form a long tail.
+     */
+    static WeightedSampler zipf(int size, double exponent) {
+        double[] weights = new double[size];
+        for (int rank = 0; rank < size; rank++) {
+            weights[rank] = 1 / Math.pow(rank + 1, exponent);
+        }
+        return new WeightedSampler(weights);
+    }
+
+    int size() {
+        return cumulative.length;
+    }
+
+    int sample(SplittableRandom random) {
+        double point = random.nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, point);
+        index = index >= 0 ? index + 1 : -index - 1;
+        return Math.min(index, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,65 @@
+package com.mariamkatamashvili.gym.config.cache;
+
+import com.mariamkatamashvili.gym.entity.Role;
+import com.mariamkatamashvili.gym.entity.TrainingType;
+import com.mariamkatamashvili.gym.repository.TrainingTypeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exposes the second-level cache regions that hold training types and roles. Both tables are seeded
+ * outside the application, so after changing them directly in the database the regions are cleared
+ * with {@code DELETE /actuator/referencedata}.
+ */
+@Slf4j
+@Component
+@Endpoint(id = "referencedata")
+public class ReferenceDataCacheEndpoint {
+    private static final List<String> REGIONS = List.of(
+            TrainingType.class.getName(),
+            Role.class.getName(),
+            TrainingTypeRepository.QUERY_CACHE_REGION);
+
+    private final SessionFactory sessionFactory;
+
+    public ReferenceDataCacheEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, Long>> regions() {
+        Statistics statistics = sessionFactory.getStatistics();
+        Map<String, Map<String, Long>> regions = new LinkedHashMap<>();
+        for (String region : REGIONS) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics != null) {
+                regions.put(region, Map.of(
+                        "hits", regionStatistics.getHitCount(),
+                        "misses", regionStatistics.getMissCount(),
+                        "puts", regionStatistics.getPutCount()));
+            }
+        }
+        return regions;
+    }
+
+    @DeleteOperation
+    public void evict() {
+        Cache cache = sessionFactory.getCache();
+        cache.evictEntityData(TrainingType.class);
+        cache.evictEntityData(Role.class);
+        cache.evictQueryRegion(TrainingTypeRepository.QUERY_CACHE_REGION);
+        log.info("Evicted training type and role reference data from the second-level cache");
+    }
+}
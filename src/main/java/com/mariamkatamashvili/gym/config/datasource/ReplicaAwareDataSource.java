@@ -0,0 +1,49 @@
+package com.mariamkatamashvili.gym.config.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Target for read-only connections: the replica while {@link ReplicaLagMonitor} considers it usable,
+ * the primary otherwise.
+ */
+class ReplicaAwareDataSource extends AbstractRoutingDataSource {
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+
+    ReplicaAwareDataSource(DataSource primaryDataSource, DataSource replicaDataSource,
+                           ReplicaLagMonitor lagMonitor, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.primaryReads = readCounter(meterRegistry, PRIMARY);
+        this.replicaReads = readCounter(meterRegistry, REPLICA);
+        setTargetDataSources(Map.of(PRIMARY, primaryDataSource, REPLICA, replicaDataSource));
+        setDefaultTargetDataSource(primaryDataSource);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (lagMonitor.isReplicaUsable()) {
+            replicaReads.increment();
+            return REPLICA;
+        }
+        primaryReads.increment();
+        return PRIMARY;
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String pool) {
+        return Counter.builder("datasource.routing.reads")
+                .description("Read-only connections handed out, by the pool that served them")
+                .tag("pool", pool)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,108 @@
+package com.mariamkatamashvili.gym.config.datasource;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Polls the replica's replication delay and decides whether read-only work may use it. The replica is
+ * only considered usable after a successful check, so reads stay on the primary while it is down,
+ * stopped or too far behind.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReplicaLagMonitor {
+    private static final long UNKNOWN_LAG = -1;
+
+    private final DataSource replicaDataSource;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong lagSeconds = new AtomicLong(UNKNOWN_LAG);
+
+    private volatile boolean usable;
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        Gauge.builder("datasource.replica.lag", lagSeconds, AtomicLong::get)
+                .description("Replication delay of the read replica, -1 when unknown")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, monitor -> monitor.usable ? 1 : 0)
+                .description("Whether read-only transactions are currently routed to the replica")
+                .register(meterRegistry);
+
+        check();
+        executor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("replica-lag-%d").setDaemon(true).build());
+        executor.scheduleWithFixedDelay(this::check, checkInterval.toMillis(), checkInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    void check() {
+        boolean wasUsable = usable;
+        try {
+            Long lag = readLagSeconds();
+            lagSeconds.set(lag == null ? UNKNOWN_LAG : lag);
+            usable = lag != null && lag <= maxLag.toSeconds();
+        } catch (Exception e) {
+            lagSeconds.set(UNKNOWN_LAG);
+            usable = false;
+            log.debug("Replica lag check failed", e);
+        }
+        if (wasUsable != usable) {
+            log.warn("Read replica is now {} (lag {}s, limit {}s)", usable ? "in use" : "bypassed",
+                    lagSeconds.get(), maxLag.toSeconds());
+        }
+    }
+
+    private Long readLagSeconds() throws SQLException {
+        try (Connection connection = replicaDataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            try (ResultSet status = statement.executeQuery("SHOW REPLICA STATUS")) {
+                return lag(status, "Seconds_Behind_Source");
+            } catch (SQLException e) {
+                // servers before 8.0.22 only understand the old syntax
+                try (ResultSet status = statement.executeQuery("SHOW SLAVE STATUS")) {
+                    return lag(status, "Seconds_Behind_Master");
+                }
+            }
+        }
+    }
+
+    private static Long lag(ResultSet status, String column) throws SQLException {
+        if (!status.next()) {
+            // not configured as a replica, e.g. a standalone copy used in development
+            return 0L;
+        }
+        long lag = status.getLong(column);
+        return status.wasNull() ? null : lag;
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.jms.annotation.EnableJms;
 import org.springframework.jms.connection.CachingConnectionFactory;
 import org.springframework.jms.core.JmsTemplate;
@@ -25,9 +26,18 @@ public class JmsConfig {
     }
 
     @Bean
+    @Primary
     public JmsTemplate jmsTemplate(CachingConnectionFactory connectionFactory, MessageConverter messageConverter) {
         JmsTemplate jmsTemplate = new JmsTemplate(connectionFactory);
         jmsTemplate.setMessageConverter(messageConverter);
         return jmsTemplate;
     }
+
+    @Bean
+    public JmsTemplate batchJmsTemplate(CachingConnectionFactory connectionFactory, MessageConverter messageConverter) {
+        JmsTemplate jmsTemplate = new JmsTemplate(connectionFactory);
+        jmsTemplate.setMessageConverter(messageConverter);
+        jmsTemplate.setSessionTransacted(true);
+        return jmsTemplate;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.mariamkatamashvili.gym.config.logging;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
@@ -12,24 +13,26 @@ import org.springframework.stereotype.Component;
 @Aspect
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class LoggingAspect {
+    private final ResponseLogFormatter responseLogFormatter;
+
     @Pointcut("within(@org.springframework.web.bind.annotation.RestController *)")
     public void restController() {
     }
 
     @AfterReturning(pointcut = "restController()", returning = "result")
     public void logAfterReturning(JoinPoint joinPoint, Object result) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
         String transactionId = MDC.get("X-Transaction-Id");
         String methodName = joinPoint.getSignature().getName();
         String className = joinPoint.getTarget().getClass().getSimpleName();
 
-        String responseToLog = result != null ? result.toString()
-                .replaceAll("password=[^,]+", "password=***")
-                .replaceAll("token=[^,]+", "token=***") : "null";
-
         log.info("Transaction ID: {}, Endpoint: {}.{}(), Response: {}",
                 transactionId,
-                className, methodName, responseToLog);
+                className, methodName, responseLogFormatter.format(result));
     }
 
     @AfterThrowing(pointcut = "restController()", throwing = "e")
@@ -0,0 +1,150 @@
+package com.mariamkatamashvili.gym.config.logging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Renders controller responses for the log without calling their {@code toString}. DTOs are walked field
+ * by field with password and token fields masked, collections show their size and first few elements, and
+ * rendering stops once the configured length is reached, so the cost no longer grows with the payload.
+ */
+@Component
+public class ResponseLogFormatter {
+    static final String MASK = "***";
+    private static final String TRUNCATED = "...";
+    private static final String DTO_PACKAGE = "com.mariamkatamashvili.gym.dto";
+    private static final Pattern SENSITIVE_NAME = Pattern.compile("password|token", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SENSITIVE_TEXT = Pattern.compile("(password|token)=[^,)\\]]+");
+    private static final int MAX_DEPTH = 6;
+    private static final ClassValue<DtoField[]> FIELDS = new ClassValue<>() {
+        @Override
+        protected DtoField[] computeValue(Class<?> type) {
+            List<DtoField> fields = new ArrayList<>();
+            for (Field field : type.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                    field.setAccessible(true);
+                    fields.add(new DtoField(field, SENSITIVE_NAME.matcher(field.getName()).find()));
+                }
+            }
+            return fields.toArray(DtoField[]::new);
+        }
+    };
+
+    @Value("${logging.response.max-length:1000}")
+    private int maxLength;
+
+    @Value("${logging.response.max-elements:3}")
+    private int maxElements;
+
+    public String format(Object response) {
+        StringBuilder out = new StringBuilder(Math.min(maxLength, 256));
+        append(out, response, false, 0);
+        if (out.length() > maxLength) {
+            out.setLength(maxLength);
+            out.append(TRUNCATED);
+        }
+        return out.toString();
+    }
+
+    private void append(StringBuilder out, Object value, boolean sensitive, int depth) {
+        if (out.length() > maxLength) {
+            return;
+        }
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof ResponseEntity<?> response) {
+            out.append('<').append(response.getStatusCode().value()).append(' ');
+            append(out, response.getBody(), false, depth + 1);
+            out.append('>');
+        } else if (value instanceof Collection<?> collection) {
+            appendElements(out, collection, depth);
+        } else if (value instanceof Map<?, ?> map) {
+            appendEntries(out, map, depth);
+        } else if (isDto(value) && depth < MAX_DEPTH) {
+            appendFields(out, value, depth);
+        } else if (sensitive) {
+            out.append(MASK);
+        } else {
+            appendText(out, String.valueOf(value));
+        }
+    }
+
+    private void appendElements(StringBuilder out, Collection<?> collection, int depth) {
+        out.append("[size=").append(collection.size());
+        Iterator<?> elements = collection.iterator();
+        for (int i = 0; i < maxElements && elements.hasNext() && out.length() <= maxLength; i++) {
+            out.append(i == 0 ? ": " : ", ");
+            append(out, elements.next(), false, depth + 1);
+        }
+        if (collection.size() > maxElements) {
+            out.append(", ").append(TRUNCATED);
+        }
+        out.append(']');
+    }
+
+    private void appendEntries(StringBuilder out, Map<?, ?> map, int depth) {
+        out.append('{');
+        int i = 0;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (i == maxElements || out.length() > maxLength) {
+                out.append(", ").append(TRUNCATED);
+                break;
+            }
+            String key = String.valueOf(entry.getKey());
+            out.append(i++ == 0 ? "" : ", ").append(key).append('=');
+            append(out, entry.getValue(), SENSITIVE_NAME.matcher(key).find(), depth + 1);
+        }
+        out.append('}');
+    }
+
+    private void appendFields(StringBuilder out, Object dto, int depth) {
+        out.append(dto.getClass().getSimpleName()).append('(');
+        DtoField[] fields = FIELDS.get(dto.getClass());
+        for (int i = 0; i < fields.length && out.length() <= maxLength; i++) {
+            out.append(i == 0 ? "" : ", ").append(fields[i].field().getName()).append('=');
+            append(out, fields[i].read(dto), fields[i].sensitive(), depth + 1);
+        }
+        out.append(')');
+    }
+
+    /**
+     * Values this formatter does not walk still go through {@code toString}; a masking pass catches
+     * {@code password=} or {@code token=} pairs inside that text.
+     */
+    private void appendText(StringBuilder out, String text) {
+        if (text.indexOf('=') >= 0) {
+            Matcher matcher = SENSITIVE_TEXT.matcher(text);
+            if (matcher.find()) {
+                text = matcher.replaceAll("$1=" + MASK);
+            }
+        }
+        int remaining = maxLength - out.length() + 1;
+        out.append(text, 0, Math.min(text.length(), Math.max(remaining, 0)));
+    }
+
+    private static boolean isDto(Object value) {
+        return value.getClass().getPackageName().startsWith(DTO_PACKAGE);
+    }
+
+    private record DtoField(Field field, boolean sensitive) {
+
+        Object read(Object dto) {
+            try {
+                return field.get(dto);
+            } catch (IllegalAccessException e) {
+                return "?";
+            }
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.mariamkatamashvili.gym.controller;
 
 import com.mariamkatamashvili.gym.exception.GymException;
+import com.mariamkatamashvili.gym.exception.ServiceOverloadedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -9,8 +13,23 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @RestController
 @RestControllerAdvice
 public class RestExceptionHandler {
+    private static final String RETRY_AFTER_SECONDS = "1";
+
     @ExceptionHandler(GymException.class)
     public ResponseEntity<String> handleGymException(GymException e) {
         return ResponseEntity.badRequest().body(e.getMessage());
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<String> handleServiceOverloadedException(ServiceOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(e.getMessage());
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body("The record was changed by another request, please reload and retry");
+    }
+}
@@ -1,5 +1,6 @@
 package com.mariamkatamashvili.gym.controller;
 
+import com.mariamkatamashvili.gym.dto.securityDto.BulkRegistrationResponseDTO;
 import com.mariamkatamashvili.gym.dto.securityDto.RegistrationResponseDTO;
 import com.mariamkatamashvili.gym.dto.traineeDto.ProfileResponseDTO;
 import com.mariamkatamashvili.gym.dto.traineeDto.RegistrationRequestDTO;
@@ -7,11 +8,15 @@ import com.mariamkatamashvili.gym.dto.traineeDto.UpdateRequestDTO;
 import com.mariamkatamashvili.gym.dto.traineeDto.UpdateResponseDTO;
 import com.mariamkatamashvili.gym.dto.traineeDto.UpdateTrainersRequestDTO;
 import com.mariamkatamashvili.gym.dto.trainerDto.TrainerDTO;
-import com.mariamkatamashvili.gym.dto.trainingDto.TrainingResponseDTO;
+import com.mariamkatamashvili.gym.dto.trainingDto.TrainingPageDTO;
 import com.mariamkatamashvili.gym.dto.trainingDto.TrainingsRequestDTO;
 import com.mariamkatamashvili.gym.service.TraineeService;
 import com.mariamkatamashvili.gym.dto.ToggleActivationDTO;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -21,14 +26,19 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
 
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/trainees")
 public class TraineeController {
+    private static final CacheControl PROFILE_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     private final TraineeService traineeService;
 
     @PostMapping("/registration")
@@ -38,11 +48,23 @@ public class TraineeController {
         return ResponseEntity.ok(registrationResponse);
     }
 
+    @PostMapping("/registration/bulk")
+    public ResponseEntity<BulkRegistrationResponseDTO> bulkRegistration(
+            @RequestBody List<RegistrationRequestDTO> registrationRequests) {
+        BulkRegistrationResponseDTO response = traineeService.registerAll(registrationRequests);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{username}/profile")
     public ResponseEntity<ProfileResponseDTO> getProfile(
-            @PathVariable String username) {
+            @PathVariable String username,
+            WebRequest request) {
+        String eTag = traineeService.getProfileETag(username);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(PROFILE_CACHE_CONTROL).build();
+        }
         ProfileResponseDTO profile = traineeService.getProfile(username);
-        return ResponseEntity.ok(profile);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(PROFILE_CACHE_CONTROL).body(profile);
     }
 
     @PutMapping("/{username}")
@@ -61,8 +83,11 @@ public class TraineeController {
 
     @GetMapping("/{username}/unassigned-trainers")
     public ResponseEntity<List<TrainerDTO>> getUnassigned(
-            @PathVariable String username) {
-        List<TrainerDTO> trainer = traineeService.getUnassignedTrainers(username);
+            @PathVariable String username,
+            @RequestParam(required = false) String specialization,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        List<TrainerDTO> trainer = traineeService.getUnassignedTrainers(username, specialization, page, size);
         return ResponseEntity.ok(trainer);
     }
 
@@ -74,12 +99,20 @@ public class TraineeController {
     }
 
     @GetMapping("/{username}/trainings")
-    public ResponseEntity<List<TrainingResponseDTO>> traineeTrainings(
+    public ResponseEntity<TrainingPageDTO> traineeTrainings(
             @RequestBody TrainingsRequestDTO traineeTrainingsRequest) {
-        List<TrainingResponseDTO> trainingResponse = traineeService.getTrainings(traineeTrainingsRequest);
+        TrainingPageDTO trainingResponse = traineeService.getTrainings(traineeTrainingsRequest);
         return ResponseEntity.ok(trainingResponse);
     }
 
+    @GetMapping(value = "/{username}/trainings/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportTrainings(
+            @PathVariable String username,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        traineeService.exportTrainings(username, response.getOutputStream());
+    }
+
     @PatchMapping("/{username}/toggleActivation")
     public ResponseEntity<String> toggleActivation(
             @RequestBody ToggleActivationDTO toggleActivation) {
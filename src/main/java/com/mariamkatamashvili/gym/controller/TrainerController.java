@@ -1,15 +1,20 @@
 package com.mariamkatamashvili.gym.controller;
 
+import com.mariamkatamashvili.gym.dto.securityDto.BulkRegistrationResponseDTO;
 import com.mariamkatamashvili.gym.dto.securityDto.RegistrationResponseDTO;
 import com.mariamkatamashvili.gym.dto.trainerDto.ProfileResponseDTO;
 import com.mariamkatamashvili.gym.dto.trainerDto.RegistrationRequestDTO;
 import com.mariamkatamashvili.gym.dto.trainerDto.UpdateRequestDTO;
 import com.mariamkatamashvili.gym.dto.trainerDto.UpdateResponseDTO;
-import com.mariamkatamashvili.gym.dto.trainingDto.TrainingResponseDTO;
+import com.mariamkatamashvili.gym.dto.trainingDto.TrainingPageDTO;
 import com.mariamkatamashvili.gym.dto.trainingDto.TrainingsRequestDTO;
 import com.mariamkatamashvili.gym.service.TrainerService;
 import com.mariamkatamashvili.gym.dto.ToggleActivationDTO;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -19,13 +24,17 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
 
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/trainers")
 public class TrainerController {
+    private static final CacheControl PROFILE_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     private final TrainerService trainerService;
 
     @PostMapping("/registration")
@@ -35,11 +44,23 @@ public class TrainerController {
         return ResponseEntity.ok(registration);
     }
 
+    @PostMapping("/registration/bulk")
+    public ResponseEntity<BulkRegistrationResponseDTO> bulkRegistration(
+            @RequestBody List<RegistrationRequestDTO> registrationRequests) {
+        BulkRegistrationResponseDTO response = trainerService.registerAll(registrationRequests);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{username}/profile")
     public ResponseEntity<ProfileResponseDTO> getProfile(
-            @PathVariable String username) {
+            @PathVariable String username,
+            WebRequest request) {
+        String eTag = trainerService.getProfileETag(username);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(PROFILE_CACHE_CONTROL).build();
+        }
         ProfileResponseDTO response = trainerService.getProfile(username);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(PROFILE_CACHE_CONTROL).body(response);
     }
 
     @PutMapping("/{username}")
@@ -50,12 +71,20 @@ public class TrainerController {
     }
 
     @GetMapping("/{username}/trainings")
-    public ResponseEntity<List<TrainingResponseDTO>> trainerTrainings(
+    public ResponseEntity<TrainingPageDTO> trainerTrainings(
             @RequestBody TrainingsRequestDTO traineeTrainingsRequest) {
-        List<TrainingResponseDTO> trainingResponse = trainerService.getTrainings(traineeTrainingsRequest);
+        TrainingPageDTO trainingResponse = trainerService.getTrainings(traineeTrainingsRequest);
         return ResponseEntity.ok(trainingResponse);
     }
 
+    @GetMapping(value = "/{username}/trainings/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportTrainings(
+            @PathVariable String username,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        trainerService.exportTrainings(username, response.getOutputStream());
+    }
+
     @PatchMapping("/{username}/toggleActivation")
     public ResponseEntity<String> toggleActivation(
             @RequestBody ToggleActivationDTO toggleActivation) {
@@ -1,5 +1,6 @@
 package com.mariamkatamashvili.gym.controller;
 
+import com.mariamkatamashvili.gym.dto.trainingDto.BulkTrainingResponseDTO;
 import com.mariamkatamashvili.gym.dto.trainingDto.TrainingRequestDTO;
 import com.mariamkatamashvili.gym.service.TrainingService;
 import lombok.RequiredArgsConstructor;
@@ -9,6 +10,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/trainings")
@@ -21,4 +24,11 @@ public class TrainingController {
         trainingService.create(trainingRequestDTO);
         return ResponseEntity.ok("Training added successfully");
     }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkTrainingResponseDTO> addAll(
+            @RequestBody List<TrainingRequestDTO> trainingRequests) {
+        BulkTrainingResponseDTO response = trainingService.createAll(trainingRequests);
+        return ResponseEntity.ok(response);
+    }
 }
\ No newline at end of file
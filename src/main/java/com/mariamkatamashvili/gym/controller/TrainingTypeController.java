@@ -3,20 +3,42 @@ package com.mariamkatamashvili.gym.controller;
 import com.mariamkatamashvili.gym.dto.trainingTypeDto.TrainingTypeDTO;
 import com.mariamkatamashvili.gym.service.TrainingTypeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/training-types")
 public class TrainingTypeController {
+    private static final CacheControl TRAINING_TYPES_CACHE_CONTROL = CacheControl.noCache();
+
     private final TrainingTypeService trainingTypeService;
 
     @GetMapping
-    public List<TrainingTypeDTO> getAll() {
-        return trainingTypeService.findAll();
+    public ResponseEntity<List<TrainingTypeDTO>> getAll(WebRequest request) {
+        List<TrainingTypeDTO> trainingTypes = trainingTypeService.findAll();
+        String eTag = eTag(trainingTypes);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(TRAINING_TYPES_CACHE_CONTROL).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).cacheControl(TRAINING_TYPES_CACHE_CONTROL).body(trainingTypes);
+    }
+
+    private static String eTag(List<TrainingTypeDTO> trainingTypes) {
+        StringBuilder content = new StringBuilder();
+        for (TrainingTypeDTO trainingType : trainingTypes) {
+            content.append(trainingType.getTrainingTypeId()).append(':')
+                    .append(trainingType.getTrainingTypeName()).append('\n');
+        }
+        return DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
     }
-}
\ No newline at end of file
+}
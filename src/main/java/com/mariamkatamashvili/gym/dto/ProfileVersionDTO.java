@@ -0,0 +1,32 @@
+package com.mariamkatamashvili.gym.dto;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Version stamps of everything a profile response is built from: one row per linked trainer or trainee,
+ * carrying the owner's user and profile versions alongside the link's id, profile version and user version.
+ * A profile without links yields a single row with null link columns.
+ */
+public record ProfileVersionDTO(long userVersion, long profileVersion, Long linkId, Long linkVersion,
+                                Long linkUserVersion) {
+    /**
+     * Hashes the rows in link id order, so a different set of links or any version change gives a different
+     * ETag. Aggregates such as sums are not used because distinct link sets can share them.
+     */
+    public static String toETag(List<ProfileVersionDTO> versions) {
+        ProfileVersionDTO owner = versions.get(0);
+        StringBuilder stamp = new StringBuilder()
+                .append(owner.userVersion()).append(':').append(owner.profileVersion());
+        for (ProfileVersionDTO link : versions) {
+            if (link.linkId() != null) {
+                stamp.append('|').append(link.linkId())
+                        .append(':').append(link.linkVersion())
+                        .append(':').append(link.linkUserVersion());
+            }
+        }
+        return DigestUtils.md5DigestAsHex(stamp.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
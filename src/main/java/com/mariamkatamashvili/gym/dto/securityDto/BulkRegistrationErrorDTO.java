@@ -0,0 +1,13 @@
+package com.mariamkatamashvili.gym.dto.securityDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkRegistrationErrorDTO {
+    private int index;
+    private String message;
+}
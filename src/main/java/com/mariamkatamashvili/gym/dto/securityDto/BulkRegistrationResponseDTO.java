@@ -0,0 +1,19 @@
+package com.mariamkatamashvili.gym.dto.securityDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkRegistrationResponseDTO {
+    private int received;
+    private int registered;
+    private long elapsedMillis;
+    private double recordsPerSecond;
+    private List<RegistrationResponseDTO> registrations;
+    private List<BulkRegistrationErrorDTO> errors;
+}
@@ -0,0 +1,4 @@
+package com.mariamkatamashvili.gym.dto.traineeDto;
+
+public record TraineeRefDTO(Long id, String username) {
+}
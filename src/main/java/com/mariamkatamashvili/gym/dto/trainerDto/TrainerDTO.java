@@ -21,4 +21,9 @@ public class TrainerDTO {
 
     @Valid
     private TrainingTypeDTO specialization;
+
+    public TrainerDTO(String username, String firstName, String lastName,
+                      Long specializationId, String specializationName) {
+        this(username, firstName, lastName, new TrainingTypeDTO(specializationId, specializationName));
+    }
 }
\ No newline at end of file
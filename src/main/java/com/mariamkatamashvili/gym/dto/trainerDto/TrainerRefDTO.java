@@ -0,0 +1,5 @@
+package com.mariamkatamashvili.gym.dto.trainerDto;
+
+public record TrainerRefDTO(Long id, String username, String firstName, String lastName, Boolean isActive,
+                            Long specializationId) {
+}
@@ -0,0 +1,16 @@
+package com.mariamkatamashvili.gym.dto.trainingDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkTrainingResponseDTO {
+    private int received;
+    private int created;
+    private List<BulkTrainingErrorDTO> errors;
+}
@@ -0,0 +1,34 @@
+package com.mariamkatamashvili.gym.dto.trainingDto;
+
+import com.mariamkatamashvili.gym.exception.GymException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public record TrainingCursor(LocalDate date, Long id) {
+    private static final String SEPARATOR = ":";
+
+    public static TrainingCursor of(TrainingResponseDTO training) {
+        return new TrainingCursor(training.getDate(), training.getId());
+    }
+
+    public static TrainingCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR, 2);
+            return new TrainingCursor(LocalDate.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+            throw new GymException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = date + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,33 @@
+package com.mariamkatamashvili.gym.dto.trainingDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TrainingPageDTO {
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 500;
+
+    private List<TrainingResponseDTO> trainings;
+    private String nextCursor;
+
+    public static int resolveSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(requested, MAX_SIZE);
+    }
+
+    public static TrainingPageDTO of(List<TrainingResponseDTO> rows, int size) {
+        if (rows.size() <= size) {
+            return new TrainingPageDTO(rows, null);
+        }
+        List<TrainingResponseDTO> page = rows.subList(0, size);
+        return new TrainingPageDTO(page, TrainingCursor.of(page.get(size - 1)).encode());
+    }
+}
@@ -1,5 +1,6 @@
 package com.mariamkatamashvili.gym.dto.trainingDto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.mariamkatamashvili.gym.dto.trainingTypeDto.TrainingTypeDTO;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
@@ -26,4 +27,12 @@ public class TrainingResponseDTO {
 
     @Valid
     private String name;
-}
\ No newline at end of file
+
+    @JsonIgnore
+    private Long id;
+
+    public TrainingResponseDTO(Long id, String trainingName, LocalDate date, Long trainingTypeId,
+                               String trainingTypeName, Integer duration, String name) {
+        this(trainingName, date, new TrainingTypeDTO(trainingTypeId, trainingTypeName), duration, name, id);
+    }
+}
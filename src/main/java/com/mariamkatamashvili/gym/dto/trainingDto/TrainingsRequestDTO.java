@@ -28,4 +28,10 @@ public class TrainingsRequestDTO {
 
     @Valid
     private TrainingTypeDTO trainingType;
+
+    @Valid
+    private String cursor;
+
+    @Valid
+    private Integer size;
 }
\ No newline at end of file
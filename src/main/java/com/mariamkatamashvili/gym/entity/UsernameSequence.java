@@ -0,0 +1,25 @@
+package com.mariamkatamashvili.gym.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@Table(name = "username_sequence")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UsernameSequence {
+    @Id
+    @Column(name = "base_name")
+    private String baseName;
+
+    @Column(name = "last_suffix", nullable = false)
+    private Long lastSuffix;
+}
@@ -0,0 +1,7 @@
+package com.mariamkatamashvili.gym.exception;
+
+public class ServiceOverloadedException extends GymException {
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
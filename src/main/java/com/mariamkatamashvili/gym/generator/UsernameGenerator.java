@@ -1,42 +1,133 @@
 package com.mariamkatamashvili.gym.generator;
 
-import com.mariamkatamashvili.gym.entity.User;
+import com.google.common.collect.Lists;
+import com.mariamkatamashvili.gym.entity.UsernameSequence;
 import com.mariamkatamashvili.gym.repository.UserRepository;
+import com.mariamkatamashvili.gym.repository.UsernameSequenceRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.text.Normalizer;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
 
 @Component
 @RequiredArgsConstructor
 public class UsernameGenerator {
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
     private final UserRepository userRepository;
+    private final UsernameSequenceRepository usernameSequenceRepository;
+
+    @Transactional
     public String generateUsername(String first, String last) {
-        List<User> users = userRepository.findAll();
-        List<String> usernames = new ArrayList<>();
-        users.forEach(user -> usernames.add(user.getUsername()));
-        int counter = 0;
-        StringBuilder builder = new StringBuilder();
-        builder.append(first).append(".").append(last);
-        while (true) {
-            int counterBefore = counter;
-            for (String username : usernames) {
-                if (username.contentEquals(builder)) {
-                    counter++;
-                }
+        String baseName = baseName(first, last);
+        long seed = usernameSequenceRepository.existsById(baseName) ? 0 : nextFreeSuffix(baseName);
+        usernameSequenceRepository.allocate(baseName, seed);
+        return withSuffix(baseName, usernameSequenceRepository.findLastSuffix(baseName));
+    }
+
+    /**
+     * Allocates usernames for a whole batch, reserving one block of suffixes per base name instead of
+     * bumping the sequence once per user. Base names are locked in sorted order so concurrent batches
+     * cannot deadlock on each other. The result is aligned with the input lists.
+     * <p>
+     * {@code username_sequence} compares base names case- and accent-insensitively (MySQL's default
+     * collation), so names are grouped by {@link #collationKey} and every spelling of a name shares one block.
+     */
+    @Transactional
+    public List<String> generateUsernames(List<String> firstNames, List<String> lastNames) {
+        List<String> baseNames = new ArrayList<>(firstNames.size());
+        List<String> keys = new ArrayList<>(firstNames.size());
+        Map<String, Long> counts = new TreeMap<>();
+        Map<String, String> representatives = new HashMap<>();
+        for (int i = 0; i < firstNames.size(); i++) {
+            String baseName = baseName(firstNames.get(i), lastNames.get(i));
+            String key = collationKey(baseName);
+            baseNames.add(baseName);
+            keys.add(key);
+            counts.merge(key, 1L, Long::sum);
+            representatives.putIfAbsent(key, baseName);
+        }
+
+        List<String> lockOrder = counts.keySet().stream().map(representatives::get).toList();
+        Map<String, Long> existing = findLastSuffixes(lockOrder);
+        counts.forEach((key, count) -> {
+            String baseName = representatives.get(key);
+            usernameSequenceRepository.allocateBlock(
+                    baseName, existing.containsKey(key) ? 0 : nextFreeSuffix(baseName), count);
+        });
+
+        Map<String, Long> allocated = findLastSuffixes(lockOrder);
+        Map<String, Long> nextSuffixes = new HashMap<>();
+        counts.forEach((key, count) -> {
+            Long lastSuffix = allocated.get(key);
+            if (lastSuffix == null) {
+                lastSuffix = usernameSequenceRepository.findLastSuffix(representatives.get(key));
             }
-            if (counter != 0) {
-                builder.setLength(0);
-                builder.append(first);
-                builder.append(".");
-                builder.append(last);
-                builder.append(counter);
+            nextSuffixes.put(key, lastSuffix - count + 1);
+        });
+
+        List<String> usernames = new ArrayList<>(baseNames.size());
+        for (int i = 0; i < baseNames.size(); i++) {
+            usernames.add(withSuffix(baseNames.get(i), nextSuffixes.merge(keys.get(i), 1L, Long::sum) - 1));
+        }
+        return usernames;
+    }
+
+    public String previewUsername(String first, String last) {
+        String baseName = baseName(first, last);
+        long suffix = usernameSequenceRepository.findById(baseName)
+                .map(sequence -> sequence.getLastSuffix() + 1)
+                .orElseGet(() -> nextFreeSuffix(baseName));
+        return withSuffix(baseName, suffix);
+    }
+
+    private Map<String, Long> findLastSuffixes(List<String> baseNames) {
+        Map<String, Long> lastSuffixes = new HashMap<>();
+        for (List<String> chunk : Lists.partition(baseNames, LOOKUP_CHUNK_SIZE)) {
+            for (UsernameSequence sequence : usernameSequenceRepository.findSnapshots(chunk)) {
+                lastSuffixes.put(collationKey(sequence.getBaseName()), sequence.getLastSuffix());
             }
-            if (counterBefore == counter) {
-                break;
+        }
+        return lastSuffixes;
+    }
+
+    private long nextFreeSuffix(String baseName) {
+        long next = 0;
+        for (String username : userRepository.findUsernamesStartingWith(baseName)) {
+            String suffix = username.substring(baseName.length());
+            if (suffix.isEmpty()) {
+                next = Math.max(next, 1);
+            } else if (suffix.chars().allMatch(Character::isDigit) && suffix.length() < 19) {
+                next = Math.max(next, Long.parseLong(suffix) + 1);
             }
         }
-        return builder.toString();
+        return next;
+    }
+
+    /**
+     * Approximates the database's case- and accent-insensitive comparison. A name it misjudges is still
+     * resolved, via {@code findLastSuffix}, which compares in the database.
+     */
+    static String collationKey(String baseName) {
+        return COMBINING_MARKS.matcher(Normalizer.normalize(baseName, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private static String baseName(String first, String last) {
+        return first + "." + last;
+    }
+
+    private static String withSuffix(String baseName, long suffix) {
+        return suffix == 0 ? baseName : baseName + suffix;
     }
-}
\ No newline at end of file
+}
@@ -14,7 +14,7 @@ public class UsernameGeneratorHealthIndicator implements HealthIndicator {
     @Override
     public Health health() {
         try {
-            String username = usernameGenerator.generateUsername("Test", "User");
+            String username = usernameGenerator.previewUsername("Test", "User");
             if (username.isEmpty()) {
                 return Health.down().withDetail("error", "Generation failure").build();
             }
@@ -1,40 +1,83 @@
 package com.mariamkatamashvili.gym.messaging;
 
 import com.mariamkatamashvili.gym.dto.WorkloadDTO;
-import lombok.RequiredArgsConstructor;
+import jakarta.jms.Destination;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jms.core.JmsTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
-@RequiredArgsConstructor
 public class MessageProducer {
+    static final String TRANSACTION_ID_HEADER = "X-Transaction-Id";
+
     @Value("${messaging.jms.destination}")
     private String destination;
     private final JmsTemplate jmsTemplate;
+    private final JmsTemplate batchJmsTemplate;
+
+    public MessageProducer(@Qualifier("jmsTemplate") JmsTemplate jmsTemplate,
+                           @Qualifier("batchJmsTemplate") JmsTemplate batchJmsTemplate) {
+        this.jmsTemplate = jmsTemplate;
+        this.batchJmsTemplate = batchJmsTemplate;
+    }
 
     public void sendMessage(WorkloadDTO workload) {
-        String transactionId = MDC.get("X-Transaction-Id");
-        String token = extractToken();
+        sendMessage(workload, MDC.get(TRANSACTION_ID_HEADER), currentToken());
+    }
 
-        jmsTemplate.convertAndSend(destination, workload, message -> {
-            message.setStringProperty("_type", "WorkloadDTO");
+    public void sendMessage(WorkloadDTO workload, String transactionId, String token) {
+        jmsTemplate.convertAndSend(destination, workload, message -> withHeaders(message, transactionId, token));
+    }
 
-            if (transactionId != null) {
-                message.setStringProperty("X-Transaction-Id", transactionId);
-            }
-            if (token != null) {
-                message.setStringProperty("Authorization", "Bearer " + token);
+    public void sendMessages(List<WorkloadMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        batchJmsTemplate.execute(session -> {
+            Destination target = batchJmsTemplate.getDestinationResolver()
+                    .resolveDestinationName(session, destination, false);
+            try (jakarta.jms.MessageProducer producer = session.createProducer(target)) {
+                for (WorkloadMessage workloadMessage : messages) {
+                    Message message = batchJmsTemplate.getMessageConverter()
+                            .toMessage(workloadMessage.workload(), session);
+                    producer.send(withHeaders(message, workloadMessage.transactionId(), workloadMessage.token()));
+                }
+                if (session.getTransacted()) {
+                    session.commit();
+                }
+            } catch (JMSException | RuntimeException e) {
+                if (session.getTransacted()) {
+                    session.rollback();
+                }
+                throw e;
             }
+            return null;
+        }, true);
+    }
+
+    private static Message withHeaders(Message message, String transactionId, String token) throws JMSException {
+        message.setStringProperty("_type", "WorkloadDTO");
+
+        if (transactionId != null) {
+            message.setStringProperty(TRANSACTION_ID_HEADER, transactionId);
+        }
+        if (token != null) {
+            message.setStringProperty("Authorization", "Bearer " + token);
+        }
 
-            return message;
-        });
+        return message;
     }
 
-    private String extractToken() {
+    static String currentToken() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.getCredentials() instanceof String string) {
             return string;
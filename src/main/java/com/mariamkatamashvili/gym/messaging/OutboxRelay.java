@@ -0,0 +1,191 @@
+package com.mariamkatamashvili.gym.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.mariamkatamashvili.gym.dto.WorkloadDTO;
+import com.mariamkatamashvili.gym.entity.OutboxMessage;
+import com.mariamkatamashvili.gym.repository.OutboxMessageRepository;
+import com.mariamkatamashvili.gym.security.ServiceTokenProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers outbox rows to the broker in id order. Delivery is at-least-once but not ordered per trainer:
+ * with {@code messaging.outbox.concurrency} above 1 the workers claim disjoint batches and send them
+ * concurrently, and a rescheduled row is overtaken by later rows for the same trainer even with a single
+ * worker. Rows that fail {@code messaging.outbox.max-attempts} times are parked and left for an operator.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxMessageRepository outboxRepo;
+    private final MessageProducer messageProducer;
+    private final ServiceTokenProvider serviceTokenProvider;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    @Value("${messaging.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${messaging.outbox.concurrency:2}")
+    private int concurrency;
+
+    @Value("${messaging.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${messaging.outbox.poll-interval:500ms}")
+    private Duration pollInterval;
+
+    @Value("${messaging.outbox.initial-backoff:1s}")
+    private Duration initialBackoff;
+
+    @Value("${messaging.outbox.max-backoff:5m}")
+    private Duration maxBackoff;
+
+    @Value("${messaging.outbox.max-attempts:20}")
+    private int maxAttempts;
+
+    private ScheduledExecutorService executor;
+    private Counter sentCounter;
+    private Counter failedCounter;
+    private Counter parkedCounter;
+    private Timer deliveryTimer;
+
+    @PostConstruct
+    void start() {
+        sentCounter = Counter.builder("outbox.relay.sent")
+                .description("Outbox messages delivered to the broker")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("outbox.relay.failed")
+                .description("Outbox delivery attempts that failed and were rescheduled")
+                .register(meterRegistry);
+        parkedCounter = Counter.builder("outbox.relay.parked")
+                .description("Outbox messages parked after exhausting their delivery attempts")
+                .register(meterRegistry);
+        deliveryTimer = Timer.builder("outbox.relay.delivery")
+                .description("Time from outbox write to broker delivery")
+                .register(meterRegistry);
+        Gauge.builder("outbox.relay.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest undelivered outbox message that is not parked")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+
+        if (!enabled) {
+            log.info("Outbox relay is disabled");
+            return;
+        }
+
+        executor = Executors.newScheduledThreadPool(concurrency,
+                new ThreadFactoryBuilder().setNameFormat("outbox-relay-%d").setDaemon(true).build());
+        for (int i = 0; i < concurrency; i++) {
+            executor.scheduleWithFixedDelay(this::drain, pollInterval.toMillis(), pollInterval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+        log.info("Started outbox relay with {} workers, batch size {}", concurrency, batchSize);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (executor != null) {
+            executor.shutdown();
+            executor.awaitTermination(pollInterval.toMillis() * 2, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void drain() {
+        try {
+            Integer claimed;
+            do {
+                claimed = transactionTemplate.execute(status -> relayBatch());
+            } while (claimed != null && claimed == batchSize && !Thread.currentThread().isInterrupted());
+            updateLag();
+        } catch (Exception e) {
+            log.error("Outbox relay run failed", e);
+        }
+    }
+
+    int relayBatch() {
+        Instant now = Instant.now();
+        List<OutboxMessage> batch = outboxRepo.claimBatch(now, batchSize);
+        List<OutboxMessage> deliverable = new ArrayList<>(batch.size());
+        List<WorkloadMessage> workloads = new ArrayList<>(batch.size());
+        String token = batch.isEmpty() ? null : serviceTokenProvider.token();
+        for (OutboxMessage message : batch) {
+            try {
+                WorkloadDTO workload = objectMapper.readValue(message.getPayload(), WorkloadDTO.class);
+                workloads.add(new WorkloadMessage(workload, message.getTransactionId(), token));
+                deliverable.add(message);
+            } catch (Exception e) {
+                reschedule(message, now, e);
+            }
+        }
+
+        try {
+            messageProducer.sendMessages(workloads);
+        } catch (Exception e) {
+            deliverable.forEach(message -> reschedule(message, now, e));
+            return batch.size();
+        }
+
+        outboxRepo.deleteAllInBatch(deliverable);
+        Instant sentAt = Instant.now();
+        for (OutboxMessage message : deliverable) {
+            deliveryTimer.record(Duration.between(message.getCreatedAt(), sentAt));
+        }
+        sentCounter.increment(deliverable.size());
+        return batch.size();
+    }
+
+    private void reschedule(OutboxMessage message, Instant now, Exception e) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setNextAttemptAt(now.plus(backoff(attempts)));
+        String error = String.valueOf(e.getMessage());
+        message.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        failedCounter.increment();
+        if (attempts >= maxAttempts) {
+            message.setParked(true);
+            parkedCounter.increment();
+            log.error("Outbox message {} parked after {} failed attempts: {}",
+                    message.getId(), attempts, message.getLastError());
+            return;
+        }
+        log.warn("Outbox message {} failed on attempt {}, retrying at {}",
+                message.getId(), attempts, message.getNextAttemptAt());
+    }
+
+    Duration backoff(int attempts) {
+        long multiplier = 1L << Math.min(attempts - 1, 30);
+        Duration delay = initialBackoff.multipliedBy(multiplier);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private void updateLag() {
+        List<Instant> oldest = outboxRepo.findOldestPendingCreatedAt(PageRequest.of(0, 1));
+        lagMillis.set(oldest.isEmpty() ? 0 : Math.max(0, Duration.between(oldest.get(0), Instant.now()).toMillis()));
+    }
+}
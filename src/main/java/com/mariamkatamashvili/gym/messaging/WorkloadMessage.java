@@ -0,0 +1,6 @@
+package com.mariamkatamashvili.gym.messaging;
+
+import com.mariamkatamashvili.gym.dto.WorkloadDTO;
+
+public record WorkloadMessage(WorkloadDTO workload, String transactionId, String token) {
+}
@@ -0,0 +1,70 @@
+package com.mariamkatamashvili.gym.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mariamkatamashvili.gym.dto.WorkloadDTO;
+import com.mariamkatamashvili.gym.entity.OutboxMessage;
+import com.mariamkatamashvili.gym.exception.GymException;
+import com.mariamkatamashvili.gym.repository.OutboxMessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+@Component
+@RequiredArgsConstructor
+public class WorkloadOutbox {
+    private static final String INSERT_MESSAGE = "INSERT INTO outbox_message " +
+            "(payload, transaction_id, created_at, next_attempt_at, attempts, parked) " +
+            "VALUES (?, ?, ?, ?, 0, FALSE)";
+    private static final int BATCH_SIZE = 500;
+
+    private final OutboxMessageRepository outboxRepo;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(WorkloadDTO workload) {
+        Instant now = Instant.now();
+        OutboxMessage message = OutboxMessage.builder()
+                .payload(serialize(workload))
+                .transactionId(MDC.get(MessageProducer.TRANSACTION_ID_HEADER))
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build();
+        outboxRepo.save(message);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishAll(List<WorkloadDTO> workloads) {
+        if (workloads.isEmpty()) {
+            return;
+        }
+
+        String transactionId = MDC.get(MessageProducer.TRANSACTION_ID_HEADER);
+        Timestamp now = Timestamp.from(Instant.now());
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        jdbcTemplate.batchUpdate(INSERT_MESSAGE, workloads, BATCH_SIZE, (ps, workload) -> {
+            ps.setString(1, serialize(workload));
+            ps.setString(2, transactionId);
+            ps.setTimestamp(3, now, utc);
+            ps.setTimestamp(4, now, utc);
+        });
+    }
+
+    private String serialize(WorkloadDTO workload) {
+        try {
+            return objectMapper.writeValueAsString(workload);
+        } catch (JsonProcessingException e) {
+            throw new GymException("Could not serialize workload: " + e.getMessage());
+        }
+    }
+}
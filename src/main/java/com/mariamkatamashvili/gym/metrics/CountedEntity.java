@@ -0,0 +1,7 @@
+package com.mariamkatamashvili.gym.metrics;
+
+public enum CountedEntity {
+    USERS,
+    TRAINEES,
+    TRAINERS
+}
@@ -0,0 +1,179 @@
+package com.mariamkatamashvili.gym.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every controller method and, nested inside it, every repository and messaging call, so a slow
+ * p99 on an endpoint can be traced to the queries or sends behind it. Endpoint timers publish a
+ * percentile histogram with the configured SLO boundaries as extra buckets. Calls made outside a
+ * request, such as by the outbox relay, are tagged with endpoint {@value #NO_ENDPOINT}.
+ */
+@Aspect
+@Component
+public class EndpointTimingAspect {
+    static final String ENDPOINT_TIMER = "gym.endpoint.duration";
+    static final String CALL_TIMER = "gym.endpoint.call.duration";
+    static final String NO_ENDPOINT = "none";
+    static final String UNRESOLVED = "UNKNOWN";
+    private static final Duration MIN_EXPECTED = Duration.ofMillis(1);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(30);
+
+    private final MeterRegistry meterRegistry;
+    private final ThreadLocal<String> currentEndpoint = new ThreadLocal<>();
+    private final Map<CallSite, String> names = new ConcurrentHashMap<>();
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    @Value("${metrics.endpoints.slo:100ms,250ms,500ms,1s}")
+    private Duration[] serviceLevelObjectives;
+
+    public EndpointTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Exception handlers are left out: RestExceptionHandler is also a {@code @RestController}, and timing it
+     * would record every failed request a second time under the handler's name.
+     */
+    @Pointcut("within(@org.springframework.web.bind.annotation.RestController *) "
+            + "&& !within(@org.springframework.web.bind.annotation.ControllerAdvice *) "
+            + "&& !within(@org.springframework.web.bind.annotation.RestControllerAdvice *)")
+    public void restController() {
+    }
+
+    @Pointcut("target(org.springframework.data.repository.Repository) "
+            + "|| within(@org.springframework.stereotype.Repository *)")
+    public void repository() {
+    }
+
+    @Pointcut("execution(* com.mariamkatamashvili.gym.messaging.MessageProducer.send*(..)) "
+            + "|| execution(* com.mariamkatamashvili.gym.messaging.WorkloadOutbox.publish*(..))")
+    public void messaging() {
+    }
+
+    /**
+     * Tags the outcome with the {@link HttpStatus.Series} of the returned status, or {@code SUCCESSFUL} when the
+     * method returns a plain body. A thrown exception is tagged {@value #UNRESOLVED} with its class in the
+     * {@code exception} tag, since the status is only chosen afterwards by the exception handler.
+     */
+    @Around("restController()")
+    public Object timeEndpoint(ProceedingJoinPoint joinPoint) throws Throwable {
+        String endpoint = name(joinPoint);
+        String previous = currentEndpoint.get();
+        currentEndpoint.set(endpoint);
+        long started = System.nanoTime();
+        String outcome = HttpStatus.Series.SUCCESSFUL.name();
+        String exception = "none";
+        try {
+            Object result = joinPoint.proceed();
+            if (result instanceof ResponseEntity<?> response) {
+                HttpStatus.Series series = HttpStatus.Series.resolve(response.getStatusCode().value());
+                outcome = series == null ? UNRESOLVED : series.name();
+            }
+            return result;
+        } catch (Throwable e) {
+            outcome = UNRESOLVED;
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            if (previous == null) {
+                currentEndpoint.remove();
+            } else {
+                currentEndpoint.set(previous);
+            }
+            timer(new TimerKey(ENDPOINT_TIMER, endpoint, outcome, exception)).record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Around("repository()")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timeCall(joinPoint, "repository");
+    }
+
+    @Around("messaging()")
+    public Object timeMessaging(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timeCall(joinPoint, "messaging");
+    }
+
+    private Object timeCall(ProceedingJoinPoint joinPoint, String kind) throws Throwable {
+        String endpoint = currentEndpoint.get();
+        long started = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timer(new TimerKey(CALL_TIMER, endpoint == null ? NO_ENDPOINT : endpoint, kind, name(joinPoint)))
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Names a call after the interface the caller injected rather than the class that declares the method,
+     * so {@code findById} on two repositories gives two names and not {@code CrudRepository.findById} twice.
+     */
+    private String name(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Object target = joinPoint.getTarget();
+        return names.computeIfAbsent(new CallSite(target.getClass(), method),
+                site -> ownerType(target).getSimpleName() + "." + method.getName());
+    }
+
+    private static Class<?> ownerType(Object target) {
+        if (Proxy.isProxyClass(target.getClass())) {
+            return AopProxyUtils.proxiedUserInterfaces(target)[0];
+        }
+        return ClassUtils.getUserClass(target);
+    }
+
+    private Timer timer(TimerKey key) {
+        return timers.computeIfAbsent(key, this::register);
+    }
+
+    private Timer register(TimerKey key) {
+        if (ENDPOINT_TIMER.equals(key.name())) {
+            return Timer.builder(ENDPOINT_TIMER)
+                    .description("Time spent in a controller method")
+                    .tag("endpoint", key.endpoint())
+                    .tag("outcome", key.first())
+                    .tag("exception", key.second())
+                    .publishPercentileHistogram()
+                    .serviceLevelObjectives(serviceLevelObjectives)
+                    .minimumExpectedValue(MIN_EXPECTED)
+                    .maximumExpectedValue(MAX_EXPECTED)
+                    .register(meterRegistry);
+        }
+        return Timer.builder(CALL_TIMER)
+                .description("Time spent in a repository or messaging call, by the endpoint that made it")
+                .tag("endpoint", key.endpoint())
+                .tag("kind", key.first())
+                .tag("call", key.second())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED)
+                .maximumExpectedValue(MAX_EXPECTED)
+                .register(meterRegistry);
+    }
+
+    private record CallSite(Class<?> targetType, Method method) {
+    }
+
+    private record TimerKey(String name, String endpoint, String first, String second) {
+    }
+}
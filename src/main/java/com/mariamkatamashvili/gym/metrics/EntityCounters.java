@@ -0,0 +1,101 @@
+package com.mariamkatamashvili.gym.metrics;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.mariamkatamashvili.gym.repository.TraineeRepository;
+import com.mariamkatamashvili.gym.repository.TrainerRepository;
+import com.mariamkatamashvili.gym.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EntityCounters {
+    private final UserRepository userRepository;
+    private final TraineeRepository traineeRepository;
+    private final TrainerRepository trainerRepository;
+    private final MeterRegistry meterRegistry;
+    private final Map<CountedEntity, AtomicLong> counts = new EnumMap<>(CountedEntity.class);
+    private final AtomicLong lastReconciledAt = new AtomicLong();
+
+    @Value("${metrics.counters.reconcile-interval:5m}")
+    private Duration reconcileInterval;
+
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        for (CountedEntity entity : CountedEntity.values()) {
+            counts.put(entity, new AtomicLong());
+        }
+        reconcile();
+        Gauge.builder("entity.counts.staleness", this, EntityCounters::stalenessSeconds)
+                .description("Time since the cached entity counts were last reconciled with the database")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        executor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("entity-counters-%d").setDaemon(true).build());
+        executor.scheduleWithFixedDelay(this::reconcileQuietly, reconcileInterval.toMillis(),
+                reconcileInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public long get(CountedEntity entity) {
+        return counts.get(entity).get();
+    }
+
+    public void adjustAfterCommit(CountedEntity entity, long delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    counts.get(entity).addAndGet(delta);
+                }
+            });
+        } else {
+            counts.get(entity).addAndGet(delta);
+        }
+    }
+
+    void reconcile() {
+        counts.get(CountedEntity.USERS).set(userRepository.count());
+        counts.get(CountedEntity.TRAINEES).set(traineeRepository.count());
+        counts.get(CountedEntity.TRAINERS).set(trainerRepository.count());
+        lastReconciledAt.set(System.currentTimeMillis());
+    }
+
+    double stalenessSeconds() {
+        return (System.currentTimeMillis() - lastReconciledAt.get()) / 1000.0;
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.warn("Could not reconcile entity counts: {}", e.getMessage());
+        }
+    }
+}
@@ -1,14 +1,13 @@
 package com.mariamkatamashvili.gym.metrics;
 
-import com.mariamkatamashvili.gym.repository.TraineeRepository;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class TraineeCounterMetricsConfig {
-    public TraineeCounterMetricsConfig(MeterRegistry meterRegistry, TraineeRepository traineeRepository) {
-        Gauge.builder("trainees.count", traineeRepository, TraineeRepository::count)
+    public TraineeCounterMetricsConfig(MeterRegistry meterRegistry, EntityCounters entityCounters) {
+        Gauge.builder("trainees.count", entityCounters, counters -> counters.get(CountedEntity.TRAINEES))
                 .description("Number of Trainees")
                 .register(meterRegistry);
     }
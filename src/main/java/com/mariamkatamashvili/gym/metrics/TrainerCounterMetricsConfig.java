@@ -1,14 +1,13 @@
 package com.mariamkatamashvili.gym.metrics;
 
-import com.mariamkatamashvili.gym.repository.TrainerRepository;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class TrainerCounterMetricsConfig {
-    TrainerCounterMetricsConfig(MeterRegistry meterRegistry, TrainerRepository trainerRepository) {
-        Gauge.builder("trainers.count", trainerRepository, TrainerRepository::count)
+    TrainerCounterMetricsConfig(MeterRegistry meterRegistry, EntityCounters entityCounters) {
+        Gauge.builder("trainers.count", entityCounters, counters -> counters.get(CountedEntity.TRAINERS))
                 .description("Number of Trainers")
                 .register(meterRegistry);
     }
@@ -1,14 +1,13 @@
 package com.mariamkatamashvili.gym.metrics;
 
-import com.mariamkatamashvili.gym.repository.UserRepository;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class UserCounterMetricsConfig {
-    public UserCounterMetricsConfig(MeterRegistry meterRegistry, UserRepository userRepository) {
-        Gauge.builder("users.count", userRepository, UserRepository::count)
+    public UserCounterMetricsConfig(MeterRegistry meterRegistry, EntityCounters entityCounters) {
+        Gauge.builder("users.count", entityCounters, counters -> counters.get(CountedEntity.USERS))
                 .description("Number of users")
                 .register(meterRegistry);
     }
@@ -0,0 +1,24 @@
+package com.mariamkatamashvili.gym.repository;
+
+import com.mariamkatamashvili.gym.entity.OutboxMessage;
+import lombok.Generated;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+@Generated
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+    @Query(value = "SELECT * FROM outbox_message " +
+            "WHERE parked = FALSE AND next_attempt_at <= :now " +
+            "ORDER BY id " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxMessage> claimBatch(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Query("SELECT o.createdAt FROM OutboxMessage o WHERE o.parked = false ORDER BY o.id")
+    List<Instant> findOldestPendingCreatedAt(Pageable pageable);
+}
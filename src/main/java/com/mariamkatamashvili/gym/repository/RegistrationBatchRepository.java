@@ -0,0 +1,102 @@
+package com.mariamkatamashvili.gym.repository;
+
+import com.google.common.collect.Lists;
+import com.mariamkatamashvili.gym.entity.Token;
+import com.mariamkatamashvili.gym.entity.Trainee;
+import com.mariamkatamashvili.gym.entity.Trainer;
+import com.mariamkatamashvili.gym.entity.User;
+import lombok.Generated;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+@Generated
+@Repository
+@RequiredArgsConstructor
+public class RegistrationBatchRepository {
+    private static final String INSERT_USER = "INSERT INTO user " +
+            "(first_name, last_name, username, password, is_active, version) VALUES (?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_TRAINEE = "INSERT INTO trainee (birthday, address, user_id, version) VALUES (?, ?, ?, 0)";
+    private static final String INSERT_TRAINER = "INSERT INTO trainer (specialization, user_id, version) VALUES (?, ?, 0)";
+    private static final String INSERT_TOKEN = "INSERT INTO token (token, user_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${registration.bulk.jdbc-batch-size:500}")
+    private int batchSize;
+
+    public void insertUsers(List<User> users) {
+        insertReturningKeys(INSERT_USER, users, (ps, user) -> {
+            ps.setString(1, user.getFirstName());
+            ps.setString(2, user.getLastName());
+            ps.setString(3, user.getUsername());
+            ps.setString(4, user.getPassword());
+            ps.setBoolean(5, user.getIsActive());
+        }, User::setId);
+    }
+
+    public void insertTrainees(List<Trainee> trainees) {
+        jdbcTemplate.batchUpdate(INSERT_TRAINEE, trainees, batchSize, (ps, trainee) -> {
+            if (trainee.getBirthday() == null) {
+                ps.setNull(1, Types.DATE);
+            } else {
+                ps.setDate(1, Date.valueOf(trainee.getBirthday()));
+            }
+            ps.setString(2, trainee.getAddress());
+            ps.setLong(3, trainee.getUser().getId());
+        });
+    }
+
+    public void insertTrainers(List<Trainer> trainers) {
+        jdbcTemplate.batchUpdate(INSERT_TRAINER, trainers, batchSize, (ps, trainer) -> {
+            ps.setLong(1, trainer.getSpecialization().getId());
+            ps.setLong(2, trainer.getUser().getId());
+        });
+    }
+
+    public void insertTokens(List<Token> tokens) {
+        insertReturningKeys(INSERT_TOKEN, tokens, (ps, token) -> {
+            ps.setString(1, token.getJwtToken());
+            ps.setLong(2, token.getUser().getId());
+        }, Token::setId);
+    }
+
+    private <T> void insertReturningKeys(String sql, List<T> rows, ParameterizedPreparedStatementSetter<T> setter,
+                                         BiConsumer<T, Long> idSetter) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (List<T> chunk : Lists.partition(rows, batchSize)) {
+                    for (T row : chunk) {
+                        setter.setValues(ps, row);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        for (T row : chunk) {
+                            if (!keys.next()) {
+                                throw new DataRetrievalFailureException("Driver returned fewer generated keys than inserted rows");
+                            }
+                            idSetter.accept(row, keys.getLong(1));
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+    }
+}
@@ -1,13 +1,38 @@
 package com.mariamkatamashvili.gym.repository;
 
+import com.mariamkatamashvili.gym.dto.ProfileVersionDTO;
+import com.mariamkatamashvili.gym.dto.traineeDto.TraineeRefDTO;
 import com.mariamkatamashvili.gym.entity.Trainee;
 import lombok.Generated;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
+
 @Generated
 public interface TraineeRepository extends JpaRepository<Trainee, Long>{
     @Query("SELECT t FROM Trainee t INNER JOIN t.user u WHERE u.username = :username")
     Trainee findByUsername(@Param("username") String username);
+
+    @Query("SELECT t FROM Trainee t " +
+            "JOIN FETCH t.user u " +
+            "LEFT JOIN FETCH u.trainer " +
+            "LEFT JOIN FETCH t.trainers tr " +
+            "LEFT JOIN FETCH tr.user tru " +
+            "LEFT JOIN FETCH tru.trainee " +
+            "LEFT JOIN FETCH tr.specialization " +
+            "WHERE u.username = :username")
+    Trainee findProfileByUsername(@Param("username") String username);
+
+    @Query("SELECT new com.mariamkatamashvili.gym.dto.traineeDto.TraineeRefDTO(t.id, u.username) " +
+            "FROM Trainee t JOIN t.user u WHERE u.username IN :usernames")
+    List<TraineeRefDTO> findRefsByUsernameIn(@Param("usernames") Collection<String> usernames);
+
+    @Query("SELECT new com.mariamkatamashvili.gym.dto.ProfileVersionDTO(" +
+            "u.version, t.version, tr.id, tr.version, tru.version) " +
+            "FROM Trainee t JOIN t.user u LEFT JOIN t.trainers tr LEFT JOIN tr.user tru " +
+            "WHERE u.username = :username ORDER BY tr.id")
+    List<ProfileVersionDTO> findProfileVersions(@Param("username") String username);
 }
\ No newline at end of file
@@ -1,13 +1,55 @@
 package com.mariamkatamashvili.gym.repository;
 
+import com.mariamkatamashvili.gym.dto.ProfileVersionDTO;
+import com.mariamkatamashvili.gym.dto.trainerDto.TrainerDTO;
+import com.mariamkatamashvili.gym.dto.trainerDto.TrainerRefDTO;
 import com.mariamkatamashvili.gym.entity.Trainer;
 import lombok.Generated;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
+
 @Generated
 public interface TrainerRepository extends JpaRepository<Trainer, Long> {
     @Query("SELECT t FROM Trainer t INNER JOIN t.user u WHERE u.username = :username")
     Trainer findByUsername(@Param("username") String username);
+
+    @Query("SELECT t FROM Trainer t " +
+            "JOIN FETCH t.user u " +
+            "LEFT JOIN FETCH u.trainee " +
+            "LEFT JOIN FETCH t.specialization " +
+            "LEFT JOIN FETCH t.trainees te " +
+            "LEFT JOIN FETCH te.user teu " +
+            "LEFT JOIN FETCH teu.trainer " +
+            "WHERE u.username = :username")
+    Trainer findProfileByUsername(@Param("username") String username);
+
+    @Query("SELECT new com.mariamkatamashvili.gym.dto.trainerDto.TrainerDTO(" +
+            "u.username, u.firstName, u.lastName, s.id, s.trainingTypeName) " +
+            "FROM Trainer t " +
+            "JOIN t.user u " +
+            "JOIN t.specialization s " +
+            "WHERE (:specialization IS NULL OR s.trainingTypeName = :specialization) " +
+            "AND NOT EXISTS (" +
+            "SELECT 1 FROM Trainee tr JOIN tr.trainers assigned JOIN tr.user tu " +
+            "WHERE tu.username = :username AND assigned.id = t.id) " +
+            "ORDER BY u.username")
+    List<TrainerDTO> findUnassignedTrainers(@Param("username") String username,
+                                            @Param("specialization") String specialization,
+                                            Pageable pageable);
+
+    @Query("SELECT new com.mariamkatamashvili.gym.dto.trainerDto.TrainerRefDTO(" +
+            "t.id, u.username, u.firstName, u.lastName, u.isActive, s.id) " +
+            "FROM Trainer t JOIN t.user u JOIN t.specialization s WHERE u.username IN :usernames")
+    List<TrainerRefDTO> findRefsByUsernameIn(@Param("usernames") Collection<String> usernames);
+
+    @Query("SELECT new com.mariamkatamashvili.gym.dto.ProfileVersionDTO(" +
+            "u.version, t.version, te.id, te.version, teu.version) " +
+            "FROM Trainer t JOIN t.user u LEFT JOIN t.trainees te LEFT JOIN te.user teu " +
+            "WHERE u.username = :username ORDER BY te.id")
+    List<ProfileVersionDTO> findProfileVersions(@Param("username") String username);
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.mariamkatamashvili.gym.repository;
+
+import com.mariamkatamashvili.gym.entity.Training;
+import lombok.Generated;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.util.List;
+
+@Generated
+@Repository
+@RequiredArgsConstructor
+public class TrainingBatchRepository {
+    private static final String INSERT_TRAINING = "INSERT INTO training " +
+            "(trainee_id, trainer_id, training_name, training_type_id, training_date, duration) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${trainings.bulk.jdbc-batch-size:500}")
+    private int batchSize;
+
+    public void insertAll(List<Training> trainings) {
+        jdbcTemplate.batchUpdate(INSERT_TRAINING, trainings, batchSize, (ps, training) -> {
+            ps.setLong(1, training.getTrainee().getId());
+            ps.setLong(2, training.getTrainer().getId());
+            ps.setString(3, training.getTrainingName());
+            ps.setLong(4, training.getTrainingType().getId());
+            ps.setDate(5, Date.valueOf(training.getTrainingDate()));
+            ps.setInt(6, training.getDuration());
+        });
+    }
+}
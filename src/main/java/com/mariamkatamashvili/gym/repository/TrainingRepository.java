@@ -1,17 +1,32 @@
 package com.mariamkatamashvili.gym.repository;
 
+import com.mariamkatamashvili.gym.dto.trainingDto.TrainingResponseDTO;
 import com.mariamkatamashvili.gym.entity.Training;
+import jakarta.persistence.QueryHint;
 import lombok.Generated;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Generated
 public interface TrainingRepository extends JpaRepository<Training, Long> {
-    @Query("SELECT t FROM Training t " +
+    /**
+     * Rows fetched per round trip by the export streams. MySQL only honours it with {@code useCursorFetch=true}
+     * on the connection URL, which reads the result through a server side cursor instead of buffering it.
+     */
+    int EXPORT_FETCH_SIZE = 500;
+
+    @Query("SELECT new com.mariamkatamashvili.gym.dto.trainingDto.TrainingResponseDTO(" +
+            "t.id, t.trainingName, t.trainingDate, tt.id, tt.trainingTypeName, t.duration, tu2.username) " +
+            "FROM Training t " +
+            "JOIN t.trainingType tt " +
             "JOIN t.trainee tr " +
             "JOIN tr.user tu " +
             "JOIN t.trainer trr " +
@@ -20,14 +35,23 @@ public interface TrainingRepository extends JpaRepository<Training, Long> {
             "AND (:startDate IS NULL OR t.trainingDate >= :startDate) " +
             "AND (:endDate IS NULL OR t.trainingDate <= :endDate) " +
             "AND (:trainerName IS NULL OR tu2.username = :trainerName) " +
-            "AND (:trainingTypeName IS NULL OR t.trainingType.trainingTypeName = :trainingTypeName)")
-    List<Training> findTraineeTrainingsByCriteria(@Param("username") String username,
-                                                  @Param("startDate") LocalDate startDate,
-                                                  @Param("endDate") LocalDate endDate,
-                                                  @Param("trainerName") String trainerName,
-                                                  @Param("trainingTypeName") String trainingTypeName);
+            "AND (:trainingTypeName IS NULL OR tt.trainingTypeName = :trainingTypeName) " +
+            "AND (:cursorDate IS NULL OR t.trainingDate < :cursorDate " +
+            "OR (t.trainingDate = :cursorDate AND t.id < :cursorId)) " +
+            "ORDER BY t.trainingDate DESC, t.id DESC")
+    List<TrainingResponseDTO> findTraineeTrainingsByCriteria(@Param("username") String username,
+                                                             @Param("startDate") LocalDate startDate,
+                                                             @Param("endDate") LocalDate endDate,
+                                                             @Param("trainerName") String trainerName,
+                                                             @Param("trainingTypeName") String trainingTypeName,
+                                                             @Param("cursorDate") LocalDate cursorDate,
+                                                             @Param("cursorId") Long cursorId,
+                                                             Pageable pageable);
 
-    @Query("SELECT t FROM Training t " +
+    @Query("SELECT new com.mariamkatamashvili.gym.dto.trainingDto.TrainingResponseDTO(" +
+            "t.id, t.trainingName, t.trainingDate, tt.id, tt.trainingTypeName, t.duration, tu.username) " +
+            "FROM Training t " +
+            "JOIN t.trainingType tt " +
             "JOIN t.trainer trr " +
             "JOIN trr.user tu2 " +
             "JOIN t.trainee tr " +
@@ -35,9 +59,47 @@ public interface TrainingRepository extends JpaRepository<Training, Long> {
             "WHERE tu2.username = :username " +
             "AND (:startDate IS NULL OR t.trainingDate >= :startDate) " +
             "AND (:endDate IS NULL OR t.trainingDate <= :endDate) " +
-            "AND (:traineeName IS NULL OR tu.username = :traineeName)")
-    List<Training> findTrainerTrainingsByCriteria(@Param("username") String username,
-                                                  @Param("startDate") LocalDate startDate,
-                                                  @Param("endDate") LocalDate endDate,
-                                                  @Param("traineeName") String traineeName);
-}
\ No newline at end of file
+            "AND (:traineeName IS NULL OR tu.username = :traineeName) " +
+            "AND (:cursorDate IS NULL OR t.trainingDate < :cursorDate " +
+            "OR (t.trainingDate = :cursorDate AND t.id < :cursorId)) " +
+            "ORDER BY t.trainingDate DESC, t.id DESC")
+    List<TrainingResponseDTO> findTrainerTrainingsByCriteria(@Param("username") String username,
+                                                             @Param("startDate") LocalDate startDate,
+                                                             @Param("endDate") LocalDate endDate,
+                                                             @Param("traineeName") String traineeName,
+                                                             @Param("cursorDate") LocalDate cursorDate,
+                                                             @Param("cursorId") Long cursorId,
+                                                             Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.mariamkatamashvili.gym.dto.trainingDto.TrainingResponseDTO(" +
+            "t.id, t.trainingName, t.trainingDate, tt.id, tt.trainingTypeName, t.duration, tu2.username) " +
+            "FROM Training t " +
+            "JOIN t.trainingType tt " +
+            "JOIN t.trainee tr " +
+            "JOIN tr.user tu " +
+            "JOIN t.trainer trr " +
+            "JOIN trr.user tu2 " +
+            "WHERE tu.username = :username " +
+            "ORDER BY t.trainingDate DESC, t.id DESC")
+    Stream<TrainingResponseDTO> streamTraineeTrainings(@Param("username") String username);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.mariamkatamashvili.gym.dto.trainingDto.TrainingResponseDTO(" +
+            "t.id, t.trainingName, t.trainingDate, tt.id, tt.trainingTypeName, t.duration, tu.username) " +
+            "FROM Training t " +
+            "JOIN t.trainingType tt " +
+            "JOIN t.trainer trr " +
+            "JOIN trr.user tu2 " +
+            "JOIN t.trainee tr " +
+            "JOIN tr.user tu " +
+            "WHERE tu2.username = :username " +
+            "ORDER BY t.trainingDate DESC, t.id DESC")
+    Stream<TrainingResponseDTO> streamTrainerTrainings(@Param("username") String username);
+}
@@ -1,12 +1,27 @@
 package com.mariamkatamashvili.gym.repository;
 
 import com.mariamkatamashvili.gym.entity.TrainingType;
+import jakarta.persistence.QueryHint;
 import lombok.Generated;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 @Generated
 public interface TrainingTypeRepository extends JpaRepository<TrainingType, Long> {
+    String QUERY_CACHE_REGION = "reference-data";
+
+    @Override
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
+    List<TrainingType> findAll();
+
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
     Optional<TrainingType> findByTrainingTypeName(String trainingTypeName);
-}
\ No newline at end of file
+}
@@ -1,12 +1,26 @@
 package com.mariamkatamashvili.gym.repository;
 
 import com.mariamkatamashvili.gym.entity.User;
+import com.mariamkatamashvili.gym.security.GymPrincipal;
 import lombok.Generated;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 @Generated
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
-}
\ No newline at end of file
+
+    @Query("SELECT new com.mariamkatamashvili.gym.security.GymPrincipal(u.username, u.password, u.isActive) " +
+            "FROM User u WHERE u.username = :username")
+    Optional<GymPrincipal> findPrincipalByUsername(@Param("username") String username);
+
+    @Query("SELECT r.name FROM User u JOIN u.roles r WHERE u.username = :username")
+    List<String> findRoleNamesByUsername(@Param("username") String username);
+
+    @Query("SELECT u.username FROM User u WHERE u.username LIKE :#{escape(#prefix)}% ESCAPE :#{escapeCharacter()}")
+    List<String> findUsernamesStartingWith(@Param("prefix") String prefix);
+}
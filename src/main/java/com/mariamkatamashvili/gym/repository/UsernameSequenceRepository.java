@@ -0,0 +1,31 @@
+package com.mariamkatamashvili.gym.repository;
+
+import com.mariamkatamashvili.gym.entity.UsernameSequence;
+import lombok.Generated;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+@Generated
+public interface UsernameSequenceRepository extends JpaRepository<UsernameSequence, String> {
+    @Modifying
+    @Query(value = "INSERT INTO username_sequence (base_name, last_suffix) VALUES (:baseName, :seed) " +
+            "ON DUPLICATE KEY UPDATE last_suffix = last_suffix + 1", nativeQuery = true)
+    void allocate(@Param("baseName") String baseName, @Param("seed") long seed);
+
+    @Modifying
+    @Query(value = "INSERT INTO username_sequence (base_name, last_suffix) VALUES (:baseName, :seed + :count - 1) " +
+            "ON DUPLICATE KEY UPDATE last_suffix = last_suffix + :count", nativeQuery = true)
+    void allocateBlock(@Param("baseName") String baseName, @Param("seed") long seed, @Param("count") long count);
+
+    @Query("SELECT s.lastSuffix FROM UsernameSequence s WHERE s.baseName = :baseName")
+    long findLastSuffix(@Param("baseName") String baseName);
+
+    @Query("SELECT new com.mariamkatamashvili.gym.entity.UsernameSequence(s.baseName, s.lastSuffix) " +
+            "FROM UsernameSequence s WHERE s.baseName IN :baseNames")
+    List<UsernameSequence> findSnapshots(@Param("baseNames") Collection<String> baseNames);
+}
@@ -0,0 +1,195 @@
+package com.mariamkatamashvili.gym.security;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.mariamkatamashvili.gym.exception.GymException;
+import com.mariamkatamashvili.gym.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs BCrypt hashing and matching on a dedicated, size-limited pool so that a burst of logins cannot
+ * occupy every request thread. Work that does not fit in the queue is rejected with a
+ * {@link ServiceOverloadedException} instead of waiting. Unless {@code security.password-hashing.threads}
+ * is set, the pool gets half the cores, so even a login storm leaves the other half for profile and
+ * training requests.
+ */
+@Slf4j
+@Component
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    private static final String OVERLOADED_MESSAGE = "Too many password operations in progress, please retry shortly";
+
+    private final PasswordEncoder delegate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${security.password-hashing.threads:0}")
+    private int threads;
+
+    @Value("${security.password-hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+    private Timer encodeWaitTimer;
+    private Timer matchWaitTimer;
+    private Timer encodeTimer;
+    private Timer matchTimer;
+    private Counter rejectedCounter;
+
+    @Autowired
+    public BoundedPasswordEncoder(MeterRegistry meterRegistry) {
+        this(new BCryptPasswordEncoder(), meterRegistry);
+    }
+
+    BoundedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    static int defaultPoolSize(int cores) {
+        return Math.max(1, cores / 2);
+    }
+
+    @PostConstruct
+    void start() {
+        int poolSize = threads > 0 ? threads : defaultPoolSize(Runtime.getRuntime().availableProcessors());
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new ThreadFactoryBuilder().setNameFormat("password-hash-%d").setDaemon(true).build(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        encodeWaitTimer = waitTimer("encode");
+        matchWaitTimer = waitTimer("matches");
+        encodeTimer = durationTimer("encode");
+        matchTimer = durationTimer("matches");
+        rejectedCounter = Counter.builder("password.hashing.rejected")
+                .description("Password operations shed because the hashing queue was full")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password operations waiting for a hashing thread")
+                .register(meterRegistry);
+        log.info("Password hashing runs on {} threads with a queue of {}", poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return await(submit(() -> delegate.encode(rawPassword), encodeWaitTimer, encodeTimer));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return await(submit(() -> delegate.matches(rawPassword, encodedPassword), matchWaitTimer, matchTimer));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Hashes a batch while keeping only a few tasks in flight: at most one per hashing thread and never
+     * more than half the queue. A bulk import then interleaves with interactive logins and cannot by
+     * itself fill the queue ahead of them.
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        Semaphore window = new Semaphore(Math.max(1, Math.min(executor.getCorePoolSize(), queueCapacity / 2)));
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        try {
+            for (String rawPassword : rawPasswords) {
+                window.acquire();
+                try {
+                    futures.add(submit(() -> {
+                        try {
+                            return delegate.encode(rawPassword);
+                        } finally {
+                            window.release();
+                        }
+                    }, encodeWaitTimer, encodeTimer));
+                } catch (ServiceOverloadedException e) {
+                    window.release();
+                    throw e;
+                }
+            }
+
+            List<String> hashes = new ArrayList<>(futures.size());
+            for (Future<String> future : futures) {
+                hashes.add(await(future));
+            }
+            return hashes;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new GymException("Interrupted while hashing passwords");
+        } catch (RuntimeException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+    }
+
+    private <T> Future<T> submit(Callable<T> task, Timer waitTimer, Timer durationTimer) {
+        long queuedAt = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return durationTimer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceOverloadedException(OVERLOADED_MESSAGE);
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new GymException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new GymException("Password hashing failed: " + e.getCause().getMessage());
+        }
+    }
+
+    private Timer waitTimer(String operation) {
+        return Timer.builder("password.hashing.wait")
+                .description("Time a password operation spent queued before a hashing thread picked it up")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Timer durationTimer(String operation) {
+        return Timer.builder("password.hashing.duration")
+                .description("Time spent hashing or matching a password")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
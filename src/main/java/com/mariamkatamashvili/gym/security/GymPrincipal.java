@@ -0,0 +1,50 @@
+package com.mariamkatamashvili.gym.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+@AllArgsConstructor
+@Getter
+public class GymPrincipal implements UserDetails {
+    private final String username;
+    private final String password;
+    private final boolean active;
+    private final List<GrantedAuthority> authorities;
+
+    public GymPrincipal(String username, String password, Boolean active) {
+        this(username, password, Boolean.TRUE.equals(active), List.of());
+    }
+
+    public GymPrincipal withRoles(Collection<String> roleNames) {
+        List<GrantedAuthority> roleAuthorities = roleNames.stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        return new GymPrincipal(username, password, active, roleAuthorities);
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -1,25 +1,67 @@
 package com.mariamkatamashvili.gym.security;
-import com.mariamkatamashvili.gym.entity.User;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.mariamkatamashvili.gym.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
 
-import java.util.Optional;
 @Service
 @RequiredArgsConstructor
 public class GymUserDetailsService implements UserDetailsService {
+    @Value("${security.user-cache.max-size}")
+    private long maxSize;
+
+    @Value("${security.user-cache.expire-after-write}")
+    private Duration expireAfterWrite;
+
     private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    private Cache<String, GymPrincipal> principals;
+
+    @PostConstruct
+    void init() {
+        principals = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, principals, "security.principals");
+    }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Optional<User> optionalUser = userRepository.findByUsername(username);
-        if (optionalUser.isEmpty()) {
-            throw new UsernameNotFoundException("User not found with username: " + username);
+        GymPrincipal principal = principals.getIfPresent(username);
+        if (principal == null) {
+            principal = userRepository.findPrincipalByUsername(username)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username))
+                    .withRoles(userRepository.findRoleNamesByUsername(username));
+            principals.put(username, principal);
+        }
+        return principal;
+    }
+
+    public void evict(String username) {
+        principals.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principals.invalidate(username);
+                }
+            });
         }
-        User user = optionalUser.get();
-        return new GymUserDetails(user);
     }
-}
\ No newline at end of file
+}
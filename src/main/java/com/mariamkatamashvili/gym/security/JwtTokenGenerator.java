@@ -1,9 +1,15 @@
 package com.mariamkatamashvili.gym.security;
 
-import com.mariamkatamashvili.gym.repository.TokenRepository;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,6 +20,7 @@ import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
@@ -25,7 +32,32 @@ public class JwtTokenGenerator {
     @Value("${jwt.expiration}")
     private long expiration;
 
-    private final TokenRepository tokenRepository;
+    @Value("${jwt.claims-cache.max-size}")
+    private long claimsCacheMaxSize;
+
+    private final TokenRegistry tokenRegistry;
+    private final MeterRegistry meterRegistry;
+
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    private Cache<String, Claims> claimsCache;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(Base64.getDecoder().decode(secret));
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        claimsCache = CacheBuilder.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfterWrite(expiration, TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, claimsCache, "jwt.claims");
+        Gauge.builder("jwt.claims.hit.ratio", claimsCache, cache -> cache.stats().hitRate())
+                .description("Share of token lookups served without verifying the signature again")
+                .register(meterRegistry);
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -54,15 +86,14 @@ public class JwtTokenGenerator {
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), Jwts.SIG.HS256)
+                .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
         String username = extractUsername(token);
 
-        boolean isValidToken = tokenRepository.findByJwtToken(token)
-                .map(jwtToken -> !jwtToken.getJwtToken().isEmpty()).orElse(false);
+        boolean isValidToken = tokenRegistry.isActive(token);
 
         return username.equals(userDetails.getUsername()) && !isTokenExpired(token) && isValidToken;
     }
@@ -76,16 +107,15 @@ public class JwtTokenGenerator {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Base64.getDecoder().decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
+        Claims cached = claimsCache.getIfPresent(token);
+        if (cached != null) {
+            if (cached.getExpiration() == null || cached.getExpiration().after(new Date())) {
+                return cached;
+            }
+            claimsCache.invalidate(token);
+        }
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        claimsCache.put(token, claims);
+        return claims;
     }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.mariamkatamashvili.gym.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Issues the bearer token background senders such as the outbox relay present to downstream services.
+ * The token belongs to a service identity instead of a member, so nothing user-specific has to be stored
+ * while a message waits for delivery. It is reused until half of its lifetime has passed.
+ */
+@Component
+@RequiredArgsConstructor
+public class ServiceTokenProvider {
+    static final String SCOPE_CLAIM = "scope";
+
+    private final JwtTokenGenerator jwtTokenGenerator;
+
+    @Value("${messaging.service.username:gym-service}")
+    private String serviceUsername;
+
+    @Value("${messaging.service.scope:workload:write}")
+    private String scope;
+
+    private String token;
+    private Instant refreshAt = Instant.MIN;
+
+    public synchronized String token() {
+        Instant now = Instant.now();
+        if (token == null || !now.isBefore(refreshAt)) {
+            token = jwtTokenGenerator.generateToken(Map.of(SCOPE_CLAIM, scope),
+                    new GymPrincipal(serviceUsername, "", true));
+            Instant expiresAt = jwtTokenGenerator.getExpiration(token).toInstant();
+            refreshAt = now.plus(Duration.between(now, expiresAt).dividedBy(2));
+        }
+        return token;
+    }
+}
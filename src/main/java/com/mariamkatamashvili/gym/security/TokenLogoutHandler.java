@@ -12,6 +12,7 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class TokenLogoutHandler implements LogoutHandler {
     private final TokenRepository tokenRepository;
+    private final TokenRegistry tokenRegistry;
 
     @Override
     public void logout(
@@ -27,6 +28,7 @@ public class TokenLogoutHandler implements LogoutHandler {
 
         String token = authHeader.substring(7);
 
+        tokenRegistry.revoke(token);
         tokenRepository.findByJwtToken(token).ifPresent(tokenRepository::delete);
     }
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.mariamkatamashvili.gym.security;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.mariamkatamashvili.gym.repository.TokenRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Caches whether a token is still stored, keyed by its SHA-256 digest. The token table stays the source of truth:
+ * a miss is answered with one {@link TokenRepository#findByJwtToken} lookup and every entry expires after
+ * {@code recheckInterval}, so tokens issued or revoked on another node are picked up within that interval and
+ * digests never outlive the tokens. The price is one indexed token read per active token per interval, plus one
+ * for each token this node has not seen yet.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenRegistry {
+    @Value("${security.token-registry.recheck-interval:1m}")
+    private Duration recheckInterval;
+
+    private final TokenRepository tokenRepository;
+    private final MeterRegistry meterRegistry;
+
+    private Cache<HashCode, Boolean> tokens;
+
+    @PostConstruct
+    void init() {
+        tokens = CacheBuilder.newBuilder()
+                .expireAfterWrite(recheckInterval)
+                .build();
+        Gauge.builder("tokens.active", tokens, TokenRegistry::countActive)
+                .description("Number of tokens accepted by the in-memory allowlist")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Marks the token as active once the surrounding transaction commits, so a rolled back save never leaves a
+     * token accepted that has no row behind it.
+     */
+    public void register(String token) {
+        if (token != null && !token.isEmpty()) {
+            afterCommit(digest(token), Boolean.TRUE);
+        }
+    }
+
+    public void revoke(String token) {
+        if (token != null) {
+            afterCommit(digest(token), Boolean.FALSE);
+        }
+    }
+
+    public boolean isActive(String token) {
+        if (token == null || token.isEmpty()) {
+            return false;
+        }
+        try {
+            // A register or revoke that lands while the row is being read replaces the entry, and Guava then
+            // discards the loaded value instead of overwriting the newer state.
+            return tokens.get(digest(token), () -> tokenRepository.findByJwtToken(token).isPresent());
+        } catch (ExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void afterCommit(HashCode digest, Boolean active) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    tokens.put(digest, active);
+                }
+            });
+        } else {
+            tokens.put(digest, active);
+        }
+    }
+
+    private static long countActive(Cache<HashCode, Boolean> tokens) {
+        return tokens.asMap().values().stream().filter(Boolean::booleanValue).count();
+    }
+
+    private static HashCode digest(String token) {
+        return Hashing.sha256().hashString(token, StandardCharsets.UTF_8);
+    }
+}
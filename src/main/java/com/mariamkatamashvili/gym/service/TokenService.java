@@ -5,4 +5,6 @@ import com.mariamkatamashvili.gym.security.GymUserDetails;
 
 public interface TokenService {
     RegistrationResponseDTO register(GymUserDetails user, String username, String password);
+
+    void revokeTokens(Long userId);
 }
\ No newline at end of file
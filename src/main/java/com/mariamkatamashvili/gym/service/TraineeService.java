@@ -1,5 +1,6 @@
 package com.mariamkatamashvili.gym.service;
 
+import com.mariamkatamashvili.gym.dto.securityDto.BulkRegistrationResponseDTO;
 import com.mariamkatamashvili.gym.dto.securityDto.RegistrationResponseDTO;
 import com.mariamkatamashvili.gym.dto.traineeDto.ProfileResponseDTO;
 import com.mariamkatamashvili.gym.dto.traineeDto.RegistrationRequestDTO;
@@ -7,24 +8,31 @@ import com.mariamkatamashvili.gym.dto.traineeDto.UpdateRequestDTO;
 import com.mariamkatamashvili.gym.dto.traineeDto.UpdateResponseDTO;
 import com.mariamkatamashvili.gym.dto.traineeDto.UpdateTrainersRequestDTO;
 import com.mariamkatamashvili.gym.dto.trainerDto.TrainerDTO;
-import com.mariamkatamashvili.gym.dto.trainingDto.TrainingResponseDTO;
+import com.mariamkatamashvili.gym.dto.trainingDto.TrainingPageDTO;
 import com.mariamkatamashvili.gym.dto.trainingDto.TrainingsRequestDTO;
 import com.mariamkatamashvili.gym.dto.ToggleActivationDTO;
 
+import java.io.OutputStream;
 import java.util.List;
 
 public interface TraineeService {
     RegistrationResponseDTO register(RegistrationRequestDTO registrationRequestDTO);
 
+    BulkRegistrationResponseDTO registerAll(List<RegistrationRequestDTO> registrationRequests);
+
     ProfileResponseDTO getProfile(String username);
 
+    String getProfileETag(String username);
+
     UpdateResponseDTO updateProfile(UpdateRequestDTO updateRequestDTO);
 
     void delete(String username);
 
-    List<TrainerDTO> getUnassignedTrainers(String username);
+    List<TrainerDTO> getUnassignedTrainers(String username, String specialization, Integer page, Integer size);
+
+    TrainingPageDTO getTrainings(TrainingsRequestDTO trainingsRequestDTO);
 
-    List<TrainingResponseDTO> getTrainings(TrainingsRequestDTO trainingsRequestDTO);
+    void exportTrainings(String username, OutputStream outputStream);
 
     List<TrainerDTO> updateTrainers(UpdateTrainersRequestDTO updateTrainersRequestDTO);
 
@@ -1,24 +1,32 @@
 package com.mariamkatamashvili.gym.service;
 
+import com.mariamkatamashvili.gym.dto.securityDto.BulkRegistrationResponseDTO;
 import com.mariamkatamashvili.gym.dto.securityDto.RegistrationResponseDTO;
 import com.mariamkatamashvili.gym.dto.trainerDto.ProfileResponseDTO;
 import com.mariamkatamashvili.gym.dto.trainerDto.RegistrationRequestDTO;
 import com.mariamkatamashvili.gym.dto.trainerDto.UpdateRequestDTO;
 import com.mariamkatamashvili.gym.dto.trainerDto.UpdateResponseDTO;
-import com.mariamkatamashvili.gym.dto.trainingDto.TrainingResponseDTO;
+import com.mariamkatamashvili.gym.dto.trainingDto.TrainingPageDTO;
 import com.mariamkatamashvili.gym.dto.trainingDto.TrainingsRequestDTO;
 import com.mariamkatamashvili.gym.dto.ToggleActivationDTO;
 
+import java.io.OutputStream;
 import java.util.List;
 
 public interface TrainerService {
     RegistrationResponseDTO register(RegistrationRequestDTO registrationRequestDTO);
 
+    BulkRegistrationResponseDTO registerAll(List<RegistrationRequestDTO> registrationRequests);
+
     ProfileResponseDTO getProfile(String username);
 
+    String getProfileETag(String username);
+
     UpdateResponseDTO updateProfile(UpdateRequestDTO updateRequestDTO);
 
-    List<TrainingResponseDTO> getTrainings(TrainingsRequestDTO trainingsRequestDTO);
+    TrainingPageDTO getTrainings(TrainingsRequestDTO trainingsRequestDTO);
+
+    void exportTrainings(String username, OutputStream outputStream);
 
     void toggleActivation(ToggleActivationDTO toggleActivationDTO);
 }
\ No newline at end of file
@@ -1,9 +1,14 @@
 package com.mariamkatamashvili.gym.service;
 
+import com.mariamkatamashvili.gym.dto.trainingDto.BulkTrainingResponseDTO;
 import com.mariamkatamashvili.gym.dto.trainingDto.TrainingRequestDTO;
 
+import java.util.List;
+
 public interface TrainingService {
     void create(TrainingRequestDTO trainingRequestDTO);
 
+    BulkTrainingResponseDTO createAll(List<TrainingRequestDTO> trainingRequests);
+
     void removeTrainings(String username);
 }
\ No newline at end of file
@@ -0,0 +1,169 @@
+package com.mariamkatamashvili.gym.service.implementation;
+
+import com.mariamkatamashvili.gym.dto.securityDto.BulkRegistrationErrorDTO;
+import com.mariamkatamashvili.gym.dto.securityDto.BulkRegistrationResponseDTO;
+import com.mariamkatamashvili.gym.dto.securityDto.RegistrationResponseDTO;
+import com.mariamkatamashvili.gym.dto.securityDto.TokenDTO;
+import com.mariamkatamashvili.gym.dto.userDto.LoginRequestDTO;
+import com.mariamkatamashvili.gym.entity.Token;
+import com.mariamkatamashvili.gym.entity.User;
+import com.mariamkatamashvili.gym.exception.GymException;
+import com.mariamkatamashvili.gym.generator.PasswordGenerator;
+import com.mariamkatamashvili.gym.generator.UsernameGenerator;
+import com.mariamkatamashvili.gym.metrics.CountedEntity;
+import com.mariamkatamashvili.gym.metrics.EntityCounters;
+import com.mariamkatamashvili.gym.repository.RegistrationBatchRepository;
+import com.mariamkatamashvili.gym.security.BoundedPasswordEncoder;
+import com.mariamkatamashvili.gym.security.GymUserDetails;
+import com.mariamkatamashvili.gym.security.JwtTokenGenerator;
+import com.mariamkatamashvili.gym.security.TokenRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Shared pipeline behind the trainee and trainer bulk registration endpoints: usernames are allocated
+ * for the whole batch at once, passwords are hashed on the shared hashing pool and users and tokens are
+ * written with JDBC batch inserts. The role specific rows are written by the caller.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkAccountRegistrar {
+    private final UsernameGenerator usernameGenerator;
+    private final PasswordGenerator passwordGenerator;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final JwtTokenGenerator jwtTokenGenerator;
+    private final TokenRegistry tokenRegistry;
+    private final RegistrationBatchRepository registrationBatchRepo;
+    private final EntityCounters entityCounters;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${registration.bulk.max-size:5000}")
+    private int maxBulkSize;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> BulkRegistrationResponseDTO register(CountedEntity role, List<T> requests,
+                                                    Function<T, String> firstName, Function<T, String> lastName,
+                                                    Function<T, String> rowValidator,
+                                                    BiConsumer<List<T>, List<User>> roleWriter) {
+        if (requests.size() > maxBulkSize) {
+            throw new GymException("A bulk request may contain at most " + maxBulkSize + " registrations");
+        }
+        long started = System.nanoTime();
+
+        List<T> accepted = new ArrayList<>();
+        List<BulkRegistrationErrorDTO> errors = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            T request = requests.get(i);
+            String error = request == null || isBlank(firstName.apply(request)) || isBlank(lastName.apply(request))
+                    ? "First name and last name are required"
+                    : rowValidator.apply(request);
+            if (error != null) {
+                errors.add(new BulkRegistrationErrorDTO(i, error));
+            } else {
+                accepted.add(request);
+            }
+        }
+
+        List<RegistrationResponseDTO> registrations = new ArrayList<>();
+        if (!accepted.isEmpty()) {
+            List<String> passwords = new ArrayList<>(accepted.size());
+            List<User> users = createUsers(accepted.stream().map(firstName).toList(),
+                    accepted.stream().map(lastName).toList(), passwords);
+            roleWriter.accept(accepted, users);
+            registrations = issueTokens(users, passwords);
+            entityCounters.adjustAfterCommit(CountedEntity.USERS, users.size());
+            entityCounters.adjustAfterCommit(role, users.size());
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        String tag = role.name().toLowerCase(Locale.ROOT);
+        Timer.builder("registration.bulk")
+                .description("Time spent registering a bulk batch")
+                .tag("role", tag)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        Counter.builder("registration.bulk.records")
+                .description("Accounts created through bulk registration")
+                .tag("role", tag)
+                .register(meterRegistry)
+                .increment(registrations.size());
+
+        double recordsPerSecond = elapsedNanos == 0 ? 0 : registrations.size() * 1e9 / elapsedNanos;
+        log.info("Bulk registered {} {} in {} ms ({} records/s)", registrations.size(), tag,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), Math.round(recordsPerSecond));
+        return new BulkRegistrationResponseDTO(requests.size(), registrations.size(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), recordsPerSecond, registrations, errors);
+    }
+
+    /**
+     * Passwords are hashed before usernames are allocated: allocation upserts {@code username_sequence}
+     * rows and holds their locks until commit, so nothing slow may run after it.
+     */
+    private List<User> createUsers(List<String> firstNames, List<String> lastNames, List<String> passwords) {
+        for (int i = 0; i < firstNames.size(); i++) {
+            passwords.add(passwordGenerator.generatePassword());
+        }
+        List<String> hashes = passwordEncoder.encodeAll(passwords);
+        List<String> usernames = usernameGenerator.generateUsernames(firstNames, lastNames);
+
+        List<User> users = new ArrayList<>(usernames.size());
+        for (int i = 0; i < usernames.size(); i++) {
+            users.add(User.builder()
+                    .firstName(firstNames.get(i))
+                    .lastName(lastNames.get(i))
+                    .username(usernames.get(i))
+                    .password(hashes.get(i))
+                    .isActive(true)
+                    .build());
+        }
+        registrationBatchRepo.insertUsers(users);
+        return users;
+    }
+
+    private List<RegistrationResponseDTO> issueTokens(List<User> users, List<String> passwords) {
+        List<Token> tokens = new ArrayList<>(users.size());
+        for (User user : users) {
+            tokens.add(Token.builder()
+                    .jwtToken(jwtTokenGenerator.generateToken(new GymUserDetails(user)))
+                    .user(user)
+                    .build());
+        }
+        registrationBatchRepo.insertTokens(tokens);
+
+        List<RegistrationResponseDTO> registrations = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            String username = users.get(i).getUsername();
+            tokenRegistry.register(token.getJwtToken());
+            registrations.add(new RegistrationResponseDTO(
+                    new LoginRequestDTO(username, passwords.get(i)),
+                    new TokenDTO(
+                            token.getId(),
+                            token.getJwtToken(),
+                            username,
+                            jwtTokenGenerator.getExpiration(token.getJwtToken())
+                    )
+            ));
+        }
+        return registrations;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -7,6 +7,7 @@ import com.mariamkatamashvili.gym.entity.Token;
 import com.mariamkatamashvili.gym.repository.TokenRepository;
 import com.mariamkatamashvili.gym.security.GymUserDetails;
 import com.mariamkatamashvili.gym.security.JwtTokenGenerator;
+import com.mariamkatamashvili.gym.security.TokenRegistry;
 import com.mariamkatamashvili.gym.service.LoginAttemptsService;
 import com.mariamkatamashvili.gym.service.TokenService;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +19,7 @@ public class TokenServiceImpl implements TokenService {
     private final TokenRepository tokenRepository;
     private final JwtTokenGenerator jwtTokenGenerator;
     private final LoginAttemptsService loginAttemptsService;
+    private final TokenRegistry tokenRegistry;
 
     @Override
     public RegistrationResponseDTO register(GymUserDetails user, String username, String password) {
@@ -28,6 +30,7 @@ public class TokenServiceImpl implements TokenService {
                 .user(user.getUser())
                 .build();
         tokenEntity = tokenRepository.save(tokenEntity);
+        tokenRegistry.register(token);
 
         return new RegistrationResponseDTO(
                 new LoginRequestDTO(username, password),
@@ -39,4 +42,10 @@ public class TokenServiceImpl implements TokenService {
                 )
         );
     }
+
+    @Override
+    public void revokeTokens(Long userId) {
+        tokenRepository.findByUserId(userId)
+                .forEach(token -> tokenRegistry.revoke(token.getJwtToken()));
+    }
 }
\ No newline at end of file
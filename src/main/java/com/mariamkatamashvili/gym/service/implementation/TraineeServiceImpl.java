@@ -1,5 +1,7 @@
 package com.mariamkatamashvili.gym.service.implementation;
 
+import com.mariamkatamashvili.gym.dto.ProfileVersionDTO;
+import com.mariamkatamashvili.gym.dto.securityDto.BulkRegistrationResponseDTO;
 import com.mariamkatamashvili.gym.dto.securityDto.RegistrationResponseDTO;
 import com.mariamkatamashvili.gym.dto.traineeDto.ProfileResponseDTO;
 import com.mariamkatamashvili.gym.dto.traineeDto.RegistrationRequestDTO;
@@ -8,34 +10,42 @@ import com.mariamkatamashvili.gym.dto.traineeDto.UpdateResponseDTO;
 import com.mariamkatamashvili.gym.dto.traineeDto.UpdateTrainersRequestDTO;
 import com.mariamkatamashvili.gym.dto.trainerDto.TrainerDTO;
 import com.mariamkatamashvili.gym.dto.trainerDto.TrainerUsernameDTO;
+import com.mariamkatamashvili.gym.dto.trainingDto.TrainingCursor;
+import com.mariamkatamashvili.gym.dto.trainingDto.TrainingPageDTO;
 import com.mariamkatamashvili.gym.dto.trainingDto.TrainingResponseDTO;
 import com.mariamkatamashvili.gym.dto.trainingDto.TrainingsRequestDTO;
 import com.mariamkatamashvili.gym.dto.trainingTypeDto.TrainingTypeDTO;
 import com.mariamkatamashvili.gym.entity.Trainee;
 import com.mariamkatamashvili.gym.entity.Trainer;
-import com.mariamkatamashvili.gym.entity.Training;
 import com.mariamkatamashvili.gym.entity.User;
 import com.mariamkatamashvili.gym.exception.GymException;
+import com.mariamkatamashvili.gym.exception.ServiceOverloadedException;
 import com.mariamkatamashvili.gym.security.GymUserDetails;
+import com.mariamkatamashvili.gym.security.GymUserDetailsService;
 import com.mariamkatamashvili.gym.service.TokenService;
 import com.mariamkatamashvili.gym.service.TraineeService;
 import com.mariamkatamashvili.gym.service.TrainingService;
 import com.mariamkatamashvili.gym.dto.ToggleActivationDTO;
 import com.mariamkatamashvili.gym.generator.PasswordGenerator;
 import com.mariamkatamashvili.gym.generator.UsernameGenerator;
+import com.mariamkatamashvili.gym.metrics.CountedEntity;
+import com.mariamkatamashvili.gym.metrics.EntityCounters;
+import com.mariamkatamashvili.gym.repository.RegistrationBatchRepository;
 import com.mariamkatamashvili.gym.repository.TraineeRepository;
 import com.mariamkatamashvili.gym.repository.TrainerRepository;
 import com.mariamkatamashvili.gym.repository.TrainingRepository;
-import com.mariamkatamashvili.gym.repository.TrainingTypeRepository;
 import com.mariamkatamashvili.gym.repository.UserRepository;
 import com.mariamkatamashvili.gym.security.JwtTokenGenerator;
+import com.mariamkatamashvili.gym.validator.EntityLookupCache;
 import com.mariamkatamashvili.gym.validator.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -51,14 +61,19 @@ public class TraineeServiceImpl implements TraineeService {
     private final PasswordGenerator passwordGenerator;
     private final Validator validator;
     private final TrainingRepository trainingRepo;
-    private final TrainingTypeRepository trainingTypeRepo;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenGenerator jwtTokenGenerator;
     private final TokenService tokenService;
+    private final GymUserDetailsService userDetailsService;
+    private final TrainingExporter trainingExporter;
+    private final EntityCounters entityCounters;
+    private final EntityLookupCache lookupCache;
     private final TrainingService trainingService;
+    private final BulkAccountRegistrar bulkAccountRegistrar;
+    private final RegistrationBatchRepository registrationBatchRepo;
 
-    private static final String USER_NOT_FOUND = "User not found";
-    private static final String TRAINEE_NOT_FOUND = "Trainee not found";
+    private static final int DEFAULT_TRAINERS_PAGE_SIZE = 50;
+    private static final int MAX_TRAINERS_PAGE_SIZE = 500;
 
     @Override
     @Transactional
@@ -66,13 +81,14 @@ public class TraineeServiceImpl implements TraineeService {
         try {
             String firstName = registrationRequestDTO.getFirstName();
             String lastName = registrationRequestDTO.getLastName();
-            String username = usernameGenerator.generateUsername(firstName, lastName);
             String password = passwordGenerator.generatePassword();
+            String passwordHash = passwordEncoder.encode(password);
+            String username = usernameGenerator.generateUsername(firstName, lastName);
             User user = User.builder()
                     .firstName(firstName)
                     .lastName(lastName)
                     .username(username)
-                    .password(passwordEncoder.encode(password))
+                    .password(passwordHash)
                     .isActive(true)
                     .build();
             Trainee trainee = Trainee.builder()
@@ -81,25 +97,57 @@ public class TraineeServiceImpl implements TraineeService {
                     .user(user)
                     .build();
             traineeRepo.save(trainee);
+            entityCounters.adjustAfterCommit(CountedEntity.USERS, 1);
+            entityCounters.adjustAfterCommit(CountedEntity.TRAINEES, 1);
             GymUserDetails userDetails = new GymUserDetails(user);
             return tokenService.register(userDetails, username, password);
+        } catch (ServiceOverloadedException e) {
+            throw e;
         } catch (Exception e) {
             throw new GymException("Could not create trainee due to an error: " + e.getMessage());
         }
     }
 
     @Override
+    @Transactional
+    public BulkRegistrationResponseDTO registerAll(List<RegistrationRequestDTO> registrationRequests) {
+        return bulkAccountRegistrar.register(CountedEntity.TRAINEES, registrationRequests,
+                RegistrationRequestDTO::getFirstName, RegistrationRequestDTO::getLastName,
+                request -> null,
+                (requests, users) -> {
+                    List<Trainee> trainees = new ArrayList<>(requests.size());
+                    for (int i = 0; i < requests.size(); i++) {
+                        trainees.add(Trainee.builder()
+                                .birthday(requests.get(i).getBirthday())
+                                .address(requests.get(i).getAddress())
+                                .user(users.get(i))
+                                .build());
+                    }
+                    registrationBatchRepo.insertTrainees(trainees);
+                });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("#username == authentication.principal.username")
-    public ProfileResponseDTO getProfile(String username) {
-        validator.validateUserExists(username);
-        validator.validateTraineeExists(username);
+    public String getProfileETag(String username) {
+        List<ProfileVersionDTO> versions = traineeRepo.findProfileVersions(username);
+        if (versions.isEmpty()) {
+            throw new GymException("Trainee not found for username - " + username);
+        }
+        return ProfileVersionDTO.toETag(versions);
+    }
 
-        User user = userRepo.findByUsername(username)
-                .orElseThrow(() -> new GymException(USER_NOT_FOUND));
-        Trainee trainee = traineeRepo.findByUsername(username);
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("#username == authentication.principal.username")
+    public ProfileResponseDTO getProfile(String username) {
+        Trainee trainee = traineeRepo.findProfileByUsername(username);
         if (trainee == null) {
-            throw new GymException(TRAINEE_NOT_FOUND);
+            validator.validateUserExists(username);
+            throw new GymException("Trainee not found for username - " + username);
         }
+        User user = trainee.getUser();
 
         List<TrainerDTO> trainers = trainee.getTrainers().stream().map(trainer -> {
             TrainerDTO dto = new TrainerDTO();
@@ -128,20 +176,15 @@ public class TraineeServiceImpl implements TraineeService {
     @Transactional
     @PreAuthorize("#updateRequestDTO.username == authentication.principal.username")
     public UpdateResponseDTO updateProfile(UpdateRequestDTO updateRequestDTO) {
-        validator.validateUserExists(updateRequestDTO.getUsername());
-        validator.validateTraineeExists(updateRequestDTO.getUsername());
+        User user = validator.validateUserExists(updateRequestDTO.getUsername());
+        Trainee trainee = validator.validateTraineeExists(updateRequestDTO.getUsername());
 
-        User user = userRepo.findByUsername(updateRequestDTO.getUsername())
-                .orElseThrow(() -> new GymException(USER_NOT_FOUND));
         user.setFirstName(updateRequestDTO.getFirstName());
         user.setLastName(updateRequestDTO.getLastName());
         user.setIsActive(updateRequestDTO.getIsActive());
         userRepo.save(user);
+        userDetailsService.evict(user.getUsername());
 
-        Trainee trainee = traineeRepo.findByUsername(updateRequestDTO.getUsername());
-        if (trainee == null) {
-            throw new GymException(TRAINEE_NOT_FOUND);
-        }
         trainee.setBirthday(updateRequestDTO.getBirthday());
         trainee.setAddress(updateRequestDTO.getAddress());
         traineeRepo.save(trainee);
@@ -174,53 +217,35 @@ public class TraineeServiceImpl implements TraineeService {
     @Transactional
     @PreAuthorize("#username == authentication.principal.username")
     public void delete(String username) {
-        validator.validateUserExists(username);
+        User user = validator.validateUserExists(username);
         validator.validateTraineeExists(username);
 
         trainingService.removeTrainings(username);
 
-        Trainee trainee = traineeRepo.findByUsername(username);
-        if (trainee == null) {
-            throw new GymException(TRAINEE_NOT_FOUND);
-        }
-
-        User user = userRepo.findByUsername(username)
-                .orElseThrow(() -> new GymException(USER_NOT_FOUND));
-
+        tokenService.revokeTokens(user.getId());
         userRepo.delete(user);
+        userDetailsService.evict(username);
+        lookupCache.evict(username);
+        entityCounters.adjustAfterCommit(CountedEntity.USERS, -1);
+        entityCounters.adjustAfterCommit(CountedEntity.TRAINEES, -1);
     }
 
     @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("#username == authentication.principal.username")
-    public List<TrainerDTO> getUnassignedTrainers(String username) {
+    public List<TrainerDTO> getUnassignedTrainers(String username, String specialization, Integer page, Integer size) {
         validator.validateTraineeExists(username);
 
-        List<TrainerDTO> unassignedTrainers = new ArrayList<>();
-        Trainee trainee = traineeRepo.findByUsername(username);
-        List<Trainer> traineeTrainers = trainee.getTrainers();
-        List<Trainer> allTrainers = trainerRepo.findAll();
-
-        for (Trainer t : allTrainers) {
-            if (!traineeTrainers.contains(t)) {
-                TrainerDTO dto = new TrainerDTO();
-                dto.setUsername(t.getUser().getUsername());
-                dto.setFirstName(t.getUser().getFirstName());
-                dto.setLastName(t.getUser().getLastName());
-                TrainingTypeDTO specializationDTO = new TrainingTypeDTO(
-                        t.getSpecialization().getId(),
-                        t.getSpecialization().getTrainingTypeName()
-                );
-                dto.setSpecialization(specializationDTO);
-                unassignedTrainers.add(dto);
-            }
-        }
+        int pageNumber = page == null || page < 0 ? 0 : page;
+        int pageSize = size == null || size <= 0 ? DEFAULT_TRAINERS_PAGE_SIZE : Math.min(size, MAX_TRAINERS_PAGE_SIZE);
 
-        return unassignedTrainers;
+        return trainerRepo.findUnassignedTrainers(username, specialization, PageRequest.of(pageNumber, pageSize));
     }
 
     @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("#trainingsRequestDTO.username == authentication.principal.username")
-    public List<TrainingResponseDTO> getTrainings(TrainingsRequestDTO trainingsRequestDTO) {
+    public TrainingPageDTO getTrainings(TrainingsRequestDTO trainingsRequestDTO) {
         String username = trainingsRequestDTO.getUsername();
         validator.validateTraineeExists(username);
         String trainerName = trainingsRequestDTO.getName();
@@ -229,24 +254,29 @@ public class TraineeServiceImpl implements TraineeService {
         TrainingTypeDTO trainingType = trainingsRequestDTO.getTrainingType();
 
         String trainingTypeName = trainingType != null ? trainingType.getTrainingTypeName() : null;
-        List<Training> trainings = trainingRepo.findTraineeTrainingsByCriteria(
+        TrainingCursor cursor = TrainingCursor.decode(trainingsRequestDTO.getCursor());
+        int size = TrainingPageDTO.resolveSize(trainingsRequestDTO.getSize());
+
+        List<TrainingResponseDTO> trainings = trainingRepo.findTraineeTrainingsByCriteria(
                 username,
                 startDate,
                 endDate,
                 trainerName,
-                trainingTypeName
+                trainingTypeName,
+                cursor == null ? null : cursor.date(),
+                cursor == null ? null : cursor.id(),
+                PageRequest.of(0, size + 1)
         );
-        return trainings.stream().map(t -> {
-            TrainingTypeDTO specialization = trainingTypeRepo.findByTrainingTypeName(t.getTrainingType().getTrainingTypeName())
-                    .map(tt -> new TrainingTypeDTO(tt.getId(), tt.getTrainingTypeName()))
-                    .orElseThrow(() -> new GymException("Training type not found with name: " + t.getTrainingType().getTrainingTypeName()));
-            return new TrainingResponseDTO(
-                    t.getTrainingName(),
-                    t.getTrainingDate(),
-                    specialization,
-                    t.getDuration(),
-                    t.getTrainer().getUser().getUsername());
-        }).toList();
+        return TrainingPageDTO.of(trainings, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("#username == authentication.principal.username")
+    public void exportTrainings(String username, OutputStream outputStream) {
+        validator.validateTraineeExists(username);
+
+        trainingExporter.write(trainingRepo.streamTraineeTrainings(username), outputStream);
     }
 
     @Override
@@ -254,9 +284,7 @@ public class TraineeServiceImpl implements TraineeService {
     @PreAuthorize("#updateTrainersRequestDTO.username == authentication.principal.username")
     public List<TrainerDTO> updateTrainers(UpdateTrainersRequestDTO updateTrainersRequestDTO) {
         String username = updateTrainersRequestDTO.getUsername();
-        validator.validateTraineeExists(username);
-
-        Trainee trainee = traineeRepo.findByUsername(username);
+        Trainee trainee = validator.validateTraineeExists(username);
         List<TrainerDTO> newTrainers = new ArrayList<>();
         List<Trainer> updatedTrainers = updateTrainersRequestDTO.getTrainers().stream()
                 .map(TrainerUsernameDTO::getUsername)
@@ -285,11 +313,9 @@ public class TraineeServiceImpl implements TraineeService {
     @PreAuthorize("#toggleActivationDTO.username == authentication.principal.username")
     public void toggleActivation(ToggleActivationDTO toggleActivationDTO) {
         String username = toggleActivationDTO.getUsername();
-        validator.validateUserExists(username);
-
-        User user = userRepo.findByUsername(username)
-                .orElseThrow(() -> new GymException(USER_NOT_FOUND));
+        User user = validator.validateUserExists(username);
         user.setIsActive(toggleActivationDTO.getIsActive());
         userRepo.save(user);
+        userDetailsService.evict(username);
     }
 }
\ No newline at end of file
@@ -1,25 +1,33 @@
 package com.mariamkatamashvili.gym.service.implementation;
 
+import com.mariamkatamashvili.gym.dto.ProfileVersionDTO;
+import com.mariamkatamashvili.gym.dto.securityDto.BulkRegistrationResponseDTO;
 import com.mariamkatamashvili.gym.dto.securityDto.RegistrationResponseDTO;
 import com.mariamkatamashvili.gym.dto.traineeDto.TraineeDTO;
 import com.mariamkatamashvili.gym.dto.trainerDto.ProfileResponseDTO;
 import com.mariamkatamashvili.gym.dto.trainerDto.RegistrationRequestDTO;
 import com.mariamkatamashvili.gym.dto.trainerDto.UpdateRequestDTO;
 import com.mariamkatamashvili.gym.dto.trainerDto.UpdateResponseDTO;
+import com.mariamkatamashvili.gym.dto.trainingDto.TrainingCursor;
+import com.mariamkatamashvili.gym.dto.trainingDto.TrainingPageDTO;
 import com.mariamkatamashvili.gym.dto.trainingDto.TrainingResponseDTO;
 import com.mariamkatamashvili.gym.dto.trainingDto.TrainingsRequestDTO;
 import com.mariamkatamashvili.gym.dto.trainingTypeDto.TrainingTypeDTO;
 import com.mariamkatamashvili.gym.entity.Trainer;
-import com.mariamkatamashvili.gym.entity.Training;
 import com.mariamkatamashvili.gym.entity.TrainingType;
 import com.mariamkatamashvili.gym.entity.User;
 import com.mariamkatamashvili.gym.exception.GymException;
+import com.mariamkatamashvili.gym.exception.ServiceOverloadedException;
 import com.mariamkatamashvili.gym.security.GymUserDetails;
+import com.mariamkatamashvili.gym.security.GymUserDetailsService;
 import com.mariamkatamashvili.gym.service.TokenService;
 import com.mariamkatamashvili.gym.service.TrainerService;
 import com.mariamkatamashvili.gym.dto.ToggleActivationDTO;
 import com.mariamkatamashvili.gym.generator.PasswordGenerator;
 import com.mariamkatamashvili.gym.generator.UsernameGenerator;
+import com.mariamkatamashvili.gym.metrics.CountedEntity;
+import com.mariamkatamashvili.gym.metrics.EntityCounters;
+import com.mariamkatamashvili.gym.repository.RegistrationBatchRepository;
 import com.mariamkatamashvili.gym.repository.TrainerRepository;
 import com.mariamkatamashvili.gym.repository.TrainingRepository;
 import com.mariamkatamashvili.gym.repository.TrainingTypeRepository;
@@ -28,13 +36,19 @@ import com.mariamkatamashvili.gym.security.JwtTokenGenerator;
 import com.mariamkatamashvili.gym.validator.Validator;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
@@ -49,8 +63,11 @@ public class TrainerServiceImpl implements TrainerService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenGenerator jwtTokenGenerator;
     private final TokenService tokenService;
-
-    private static final String USER_NOT_FOUND = "User not found";
+    private final GymUserDetailsService userDetailsService;
+    private final TrainingExporter trainingExporter;
+    private final EntityCounters entityCounters;
+    private final BulkAccountRegistrar bulkAccountRegistrar;
+    private final RegistrationBatchRepository registrationBatchRepo;
 
     @Override
     @Transactional
@@ -58,13 +75,14 @@ public class TrainerServiceImpl implements TrainerService {
         try {
             String firstName = registrationRequestDTO.getFirstName();
             String lastName = registrationRequestDTO.getLastName();
-            String username = usernameGenerator.generateUsername(firstName, lastName);
             String password = passwordGenerator.generatePassword();
+            String passwordHash = passwordEncoder.encode(password);
+            String username = usernameGenerator.generateUsername(firstName, lastName);
             User user = User.builder()
                     .firstName(firstName)
                     .lastName(lastName)
                     .username(username)
-                    .password(passwordEncoder.encode(password))
+                    .password(passwordHash)
                     .isActive(true)
                     .build();
             TrainingType type = trainingTypeRepo.findById(registrationRequestDTO.getSpecialization().getTrainingTypeId()).orElseThrow(() -> new EntityNotFoundException("TrainingType not found for id: " + registrationRequestDTO.getSpecialization().getTrainingTypeId()));
@@ -73,19 +91,73 @@ public class TrainerServiceImpl implements TrainerService {
                     .user(user)
                     .build();
             trainerRepo.save(trainer);
+            entityCounters.adjustAfterCommit(CountedEntity.USERS, 1);
+            entityCounters.adjustAfterCommit(CountedEntity.TRAINERS, 1);
             GymUserDetails userDetails = new GymUserDetails(user);
             return tokenService.register(userDetails, username, password);
+        } catch (ServiceOverloadedException e) {
+            throw e;
         } catch (Exception e) {
             throw new GymException("Could not create trainer due to an unexpected error");
         }
     }
 
     @Override
+    @Transactional
+    public BulkRegistrationResponseDTO registerAll(List<RegistrationRequestDTO> registrationRequests) {
+        Set<Long> typeIds = trainingTypeRepo.findAllById(registrationRequests.stream()
+                        .filter(Objects::nonNull)
+                        .map(RegistrationRequestDTO::getSpecialization)
+                        .filter(Objects::nonNull)
+                        .map(TrainingTypeDTO::getTrainingTypeId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .map(TrainingType::getId)
+                .collect(Collectors.toSet());
+
+        return bulkAccountRegistrar.register(CountedEntity.TRAINERS, registrationRequests,
+                RegistrationRequestDTO::getFirstName, RegistrationRequestDTO::getLastName,
+                request -> {
+                    if (request.getSpecialization() == null || request.getSpecialization().getTrainingTypeId() == null) {
+                        return "Specialization is required";
+                    }
+                    Long typeId = request.getSpecialization().getTrainingTypeId();
+                    return typeIds.contains(typeId) ? null : "TrainingType not found for id: " + typeId;
+                },
+                (requests, users) -> {
+                    List<Trainer> trainers = new ArrayList<>(requests.size());
+                    for (int i = 0; i < requests.size(); i++) {
+                        trainers.add(Trainer.builder()
+                                .specialization(TrainingType.builder()
+                                        .id(requests.get(i).getSpecialization().getTrainingTypeId())
+                                        .build())
+                                .user(users.get(i))
+                                .build());
+                    }
+                    registrationBatchRepo.insertTrainers(trainers);
+                });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("#username == authentication.principal.username")
-    public ProfileResponseDTO getProfile(String username) {
-        validator.validateTrainerExists(username);
+    public String getProfileETag(String username) {
+        List<ProfileVersionDTO> versions = trainerRepo.findProfileVersions(username);
+        if (versions.isEmpty()) {
+            throw new GymException("Trainer not found for username - " + username);
+        }
+        return ProfileVersionDTO.toETag(versions);
+    }
 
-        Trainer trainer = trainerRepo.findByUsername(username);
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("#username == authentication.principal.username")
+    public ProfileResponseDTO getProfile(String username) {
+        Trainer trainer = trainerRepo.findProfileByUsername(username);
+        if (trainer == null) {
+            throw new GymException("Trainer not found for username - " + username);
+        }
         TrainingTypeDTO specialization = new TrainingTypeDTO(
                 trainer.getSpecialization().getId(),
                 trainer.getSpecialization().getTrainingTypeName()
@@ -112,16 +184,14 @@ public class TrainerServiceImpl implements TrainerService {
     public UpdateResponseDTO updateProfile(UpdateRequestDTO updateRequestDTO) {
         String username = updateRequestDTO.getUsername();
 
-        User user = userRepo.findByUsername(username)
-                .orElseThrow(() -> new GymException(USER_NOT_FOUND));
-        validator.validateUserExists(username);
-        Trainer trainer = trainerRepo.findByUsername(username);
-        validator.validateTrainerExists(username);
+        User user = validator.validateUserExists(username);
+        Trainer trainer = validator.validateTrainerExists(username);
 
         user.setFirstName(updateRequestDTO.getFirstName());
         user.setLastName(updateRequestDTO.getLastName());
         user.setIsActive(updateRequestDTO.getIsActive());
         userRepo.save(user);
+        userDetailsService.evict(username);
         TrainingTypeDTO specialization = new TrainingTypeDTO(
                 trainer.getSpecialization().getId(),
                 trainer.getSpecialization().getTrainingTypeName()
@@ -143,31 +213,37 @@ public class TrainerServiceImpl implements TrainerService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("#trainingsRequestDTO.username == authentication.principal.username")
-    public List<TrainingResponseDTO> getTrainings(TrainingsRequestDTO trainingsRequestDTO) {
+    public TrainingPageDTO getTrainings(TrainingsRequestDTO trainingsRequestDTO) {
         String username = trainingsRequestDTO.getUsername();
         validator.validateTrainerExists(username);
         LocalDate startDate = trainingsRequestDTO.getStartDate();
         LocalDate endDate = trainingsRequestDTO.getEndDate();
         String traineeName = trainingsRequestDTO.getName();
 
-        List<Training> trainings = trainingRepo.findTrainerTrainingsByCriteria(
+        TrainingCursor cursor = TrainingCursor.decode(trainingsRequestDTO.getCursor());
+        int size = TrainingPageDTO.resolveSize(trainingsRequestDTO.getSize());
+
+        List<TrainingResponseDTO> trainings = trainingRepo.findTrainerTrainingsByCriteria(
                 username,
                 startDate,
                 endDate,
-                traineeName
+                traineeName,
+                cursor == null ? null : cursor.date(),
+                cursor == null ? null : cursor.id(),
+                PageRequest.of(0, size + 1)
         );
-        return trainings.stream().map(t -> {
-            TrainingTypeDTO specialization = trainingTypeRepo.findByTrainingTypeName(t.getTrainingType().getTrainingTypeName())
-                    .map(tt -> new TrainingTypeDTO(tt.getId(), tt.getTrainingTypeName()))
-                    .orElseThrow(() -> new GymException("Training type not found with name: " + t.getTrainingType().getTrainingTypeName()));
-            return new TrainingResponseDTO(
-                    t.getTrainingName(),
-                    t.getTrainingDate(),
-                    specialization,
-                    t.getDuration(),
-                    t.getTrainee().getUser().getUsername());
-        }).toList();
+        return TrainingPageDTO.of(trainings, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("#username == authentication.principal.username")
+    public void exportTrainings(String username, OutputStream outputStream) {
+        validator.validateTrainerExists(username);
+
+        trainingExporter.write(trainingRepo.streamTrainerTrainings(username), outputStream);
     }
 
     @Override
@@ -175,11 +251,9 @@ public class TrainerServiceImpl implements TrainerService {
     @PreAuthorize("#toggleActivationDTO.username == authentication.principal.username")
     public void toggleActivation(ToggleActivationDTO toggleActivationDTO) {
         String username = toggleActivationDTO.getUsername();
-        validator.validateUserExists(toggleActivationDTO.getUsername());
-
-        User user = userRepo.findByUsername(username)
-                .orElseThrow(() -> new GymException(USER_NOT_FOUND));
+        User user = validator.validateUserExists(username);
         user.setIsActive(toggleActivationDTO.getIsActive());
         userRepo.save(user);
+        userDetailsService.evict(username);
     }
 }
\ No newline at end of file
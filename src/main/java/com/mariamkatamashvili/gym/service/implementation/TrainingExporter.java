@@ -0,0 +1,37 @@
+package com.mariamkatamashvili.gym.service.implementation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mariamkatamashvili.gym.dto.trainingDto.TrainingResponseDTO;
+import com.mariamkatamashvili.gym.exception.GymException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Shared writer behind the trainee and trainer training exports: each training is written as one line of
+ * JSON as it is read, so the history is never held in memory. The stream is closed once it is drained.
+ */
+@Component
+@RequiredArgsConstructor
+public class TrainingExporter {
+    private final ObjectMapper objectMapper;
+
+    public void write(Stream<TrainingResponseDTO> trainings, OutputStream outputStream) {
+        ObjectWriter writer = objectMapper.writer();
+        try (trainings) {
+            Iterator<TrainingResponseDTO> iterator = trainings.iterator();
+            while (iterator.hasNext()) {
+                outputStream.write(writer.writeValueAsBytes(iterator.next()));
+                outputStream.write('\n');
+            }
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new GymException("Could not export trainings: " + e.getMessage());
+        }
+    }
+}
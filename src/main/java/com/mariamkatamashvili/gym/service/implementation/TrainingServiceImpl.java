@@ -1,24 +1,42 @@
 package com.mariamkatamashvili.gym.service.implementation;
 
 import com.mariamkatamashvili.gym.dto.WorkloadDTO;
+import com.mariamkatamashvili.gym.dto.traineeDto.TraineeRefDTO;
+import com.mariamkatamashvili.gym.dto.trainerDto.TrainerRefDTO;
+import com.mariamkatamashvili.gym.dto.trainingDto.BulkTrainingErrorDTO;
+import com.mariamkatamashvili.gym.dto.trainingDto.BulkTrainingResponseDTO;
 import com.mariamkatamashvili.gym.dto.trainingDto.TrainingRequestDTO;
 import com.mariamkatamashvili.gym.entity.Trainee;
 import com.mariamkatamashvili.gym.entity.Trainer;
 import com.mariamkatamashvili.gym.entity.Training;
+import com.mariamkatamashvili.gym.entity.TrainingType;
 import com.mariamkatamashvili.gym.exception.GymException;
 import com.mariamkatamashvili.gym.service.TrainingService;
 import com.mariamkatamashvili.gym.dto.ActionType;
-import com.mariamkatamashvili.gym.messaging.MessageProducer;
+import com.mariamkatamashvili.gym.messaging.WorkloadOutbox;
 import com.mariamkatamashvili.gym.repository.TraineeRepository;
 import com.mariamkatamashvili.gym.repository.TrainerRepository;
+import com.mariamkatamashvili.gym.repository.TrainingBatchRepository;
 import com.mariamkatamashvili.gym.repository.TrainingRepository;
+import com.mariamkatamashvili.gym.validator.EntityLookupCache;
 import com.mariamkatamashvili.gym.validator.Validator;
+import com.google.common.collect.Lists;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -28,22 +46,25 @@ public class TrainingServiceImpl implements TrainingService {
     private final TrainingRepository trainingRepo;
     private final TraineeRepository traineeRepo;
     private final TrainerRepository trainerRepo;
+    private final TrainingBatchRepository trainingBatchRepo;
     private final Validator validator;
-    private final MessageProducer messageProducer;
+    private final WorkloadOutbox workloadOutbox;
+    private final EntityLookupCache lookupCache;
 
     private static final String TRAINEE_NOT_FOUND = "Trainee not found";
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    @Value("${trainings.bulk.max-size:10000}")
+    private int maxBulkSize;
 
     @Override
     @Transactional
     @PreAuthorize("#trainingRequest.traineeUsername == authentication.principal.username")
     public void create(TrainingRequestDTO trainingRequest) {
-        validator.validateTraineeExists(trainingRequest.getTraineeUsername());
-        validator.validateTrainerExists(trainingRequest.getTrainerUsername());
+        Trainee trainee = validator.validateTraineeExists(trainingRequest.getTraineeUsername());
+        Trainer trainer = validator.validateTrainerExists(trainingRequest.getTrainerUsername());
         validator.validateFutureDate(trainingRequest.getDate());
 
-        Trainee trainee = traineeRepo.findByUsername(trainingRequest.getTraineeUsername());
-        Trainer trainer = trainerRepo.findByUsername(trainingRequest.getTrainerUsername());
-
         Training training = Training.builder()
                 .trainee(trainee)
                 .trainer(trainer)
@@ -64,14 +85,67 @@ public class TrainingServiceImpl implements TrainingService {
                 .duration(training.getDuration())
                 .actionType(ActionType.ADD)
                 .build();
-        messageProducer.sendMessage(workload);
+        workloadOutbox.publish(workload);
+    }
+
+    @Override
+    @Transactional
+    public BulkTrainingResponseDTO createAll(List<TrainingRequestDTO> trainingRequests) {
+        if (trainingRequests.size() > maxBulkSize) {
+            throw new GymException("A bulk request may contain at most " + maxBulkSize + " trainings");
+        }
+
+        String principal = currentUsername();
+        Map<String, TraineeRefDTO> trainees = lookup(trainingRequests.stream()
+                .map(TrainingRequestDTO::getTraineeUsername).toList(), traineeRepo::findRefsByUsernameIn,
+                TraineeRefDTO::username);
+        Map<String, TrainerRefDTO> trainers = lookup(trainingRequests.stream()
+                .map(TrainingRequestDTO::getTrainerUsername).toList(), trainerRepo::findRefsByUsernameIn,
+                TrainerRefDTO::username);
+
+        LocalDate today = LocalDate.now();
+        List<Training> trainings = new ArrayList<>();
+        List<WorkloadDTO> workloads = new ArrayList<>();
+        List<BulkTrainingErrorDTO> errors = new ArrayList<>();
+        for (int i = 0; i < trainingRequests.size(); i++) {
+            TrainingRequestDTO request = trainingRequests.get(i);
+            String error = validateBulkRow(request, principal, today, trainees, trainers);
+            if (error != null) {
+                errors.add(new BulkTrainingErrorDTO(i, error));
+                continue;
+            }
+
+            TrainerRefDTO trainer = trainers.get(request.getTrainerUsername());
+            trainings.add(Training.builder()
+                    .trainee(Trainee.builder().id(trainees.get(request.getTraineeUsername()).id()).build())
+                    .trainer(Trainer.builder().id(trainer.id()).build())
+                    .trainingName(request.getTrainingName())
+                    .trainingDate(request.getDate())
+                    .duration(request.getDuration())
+                    .trainingType(TrainingType.builder().id(trainer.specializationId()).build())
+                    .build());
+            workloads.add(WorkloadDTO.builder()
+                    .username(trainer.username())
+                    .firstName(trainer.firstName())
+                    .lastName(trainer.lastName())
+                    .isActive(trainer.isActive())
+                    .date(request.getDate())
+                    .duration(request.getDuration())
+                    .actionType(ActionType.ADD)
+                    .build());
+        }
+
+        trainingBatchRepo.insertAll(trainings);
+        workloadOutbox.publishAll(workloads);
+
+        return new BulkTrainingResponseDTO(trainingRequests.size(), trainings.size(), errors);
     }
 
     @Override
     @Transactional
     public void removeTrainings(String username) {
         LocalDate now = LocalDate.now();
-        Trainee trainee = traineeRepo.findByUsername(username);
+        Trainee trainee = lookupCache.get(Trainee.class, username, () -> traineeRepo.findByUsername(username));
         if (trainee == null) {
             throw new GymException(TRAINEE_NOT_FOUND);
         }
@@ -92,7 +166,47 @@ public class TrainingServiceImpl implements TrainingService {
                     .duration(training.getDuration())
                     .actionType(ActionType.DELETE)
                     .build();
-            messageProducer.sendMessage(workload);
+            workloadOutbox.publish(workload);
         }
     }
+
+    private String validateBulkRow(TrainingRequestDTO request, String principal, LocalDate today,
+                                   Map<String, TraineeRefDTO> trainees, Map<String, TrainerRefDTO> trainers) {
+        if (request == null || request.getTraineeUsername() == null || request.getTrainerUsername() == null
+                || request.getTrainingName() == null || request.getDate() == null || request.getDuration() == null) {
+            return "Trainee, trainer, training name, date and duration are required";
+        }
+        if (!request.getTraineeUsername().equals(principal)) {
+            return "Not allowed to add trainings for trainee - " + request.getTraineeUsername();
+        }
+        if (request.getDate().isBefore(today)) {
+            return "Training date must be in the future.";
+        }
+        if (request.getDuration() <= 0) {
+            return "Duration must be positive";
+        }
+        if (!trainees.containsKey(request.getTraineeUsername())) {
+            return "Trainee not found for username - " + request.getTraineeUsername();
+        }
+        if (!trainers.containsKey(request.getTrainerUsername())) {
+            return "Trainer not found for username - " + request.getTrainerUsername();
+        }
+        return null;
+    }
+
+    private static <T> Map<String, T> lookup(List<String> usernames,
+                                             Function<Collection<String>, List<T>> query,
+                                             Function<T, String> key) {
+        List<String> distinct = usernames.stream().filter(Objects::nonNull).distinct().toList();
+        Map<String, T> found = new HashMap<>();
+        for (List<String> chunk : Lists.partition(distinct, LOOKUP_CHUNK_SIZE)) {
+            query.apply(chunk).forEach(ref -> found.put(key.apply(ref), ref));
+        }
+        return found;
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? null : authentication.getName();
+    }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import com.mariamkatamashvili.gym.service.TrainingTypeService;
 import com.mariamkatamashvili.gym.repository.TrainingTypeRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -15,6 +16,7 @@ public class TrainingTypeServiceImpl implements TrainingTypeService {
     private final TrainingTypeRepository trainingTypeRepo;
 
     @Override
+    @Transactional(readOnly = true)
     public List<TrainingTypeDTO> findAll() {
         try {
             return trainingTypeRepo.findAll().stream()
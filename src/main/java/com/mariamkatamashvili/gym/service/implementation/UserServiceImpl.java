@@ -8,10 +8,12 @@ import com.mariamkatamashvili.gym.entity.User;
 import com.mariamkatamashvili.gym.exception.GymException;
 import com.mariamkatamashvili.gym.repository.TokenRepository;
 import com.mariamkatamashvili.gym.security.GymUserDetails;
+import com.mariamkatamashvili.gym.security.GymUserDetailsService;
 import com.mariamkatamashvili.gym.service.LoginAttemptsService;
 import com.mariamkatamashvili.gym.service.UserService;
 import com.mariamkatamashvili.gym.repository.UserRepository;
 import com.mariamkatamashvili.gym.security.JwtTokenGenerator;
+import com.mariamkatamashvili.gym.security.TokenRegistry;
 import com.mariamkatamashvili.gym.validator.Validator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -33,6 +35,8 @@ public class UserServiceImpl implements UserService {
     private final JwtTokenGenerator jwtTokenGenerator;
     private final TokenRepository tokenRepository;
     private final LoginAttemptsService loginAttemptsService;
+    private final TokenRegistry tokenRegistry;
+    private final GymUserDetailsService userDetailsService;
 
     @Override
     public TokenDTO login(LoginRequestDTO loginRequest) {
@@ -63,12 +67,9 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public TokenDTO changePassword(NewPasswordRequestDTO newPasswordRequest) {
-        validator.validateUserExists(newPasswordRequest.getUsername());
-
         String username = newPasswordRequest.getUsername();
+        User user = validator.validateUserExists(username);
         checkLock(username);
-        User user = userRepo.findByUsername(newPasswordRequest.getUsername())
-                .orElseThrow(() -> new GymException("User not found"));
         if (!passwordEncoder.matches(newPasswordRequest.getCurrentPass(), user.getPassword())) {
             loginAttemptsService.loginFailed(username);
             throw new GymException("Current password is incorrect!");
@@ -77,6 +78,7 @@ public class UserServiceImpl implements UserService {
         loginAttemptsService.loginSucceeded(username);
         user.setPassword(passwordEncoder.encode(newPasswordRequest.getNewPass()));
         userRepo.save(user);
+        userDetailsService.evict(username);
 
         return generateTokenDTO(user);
     }
@@ -88,6 +90,7 @@ public class UserServiceImpl implements UserService {
 
         List<Token> tokens = tokenRepository.findByUserId(userEntity.getId());
         if (!tokens.isEmpty()) {
+            tokens.forEach(oldToken -> tokenRegistry.revoke(oldToken.getJwtToken()));
             tokenRepository.deleteAll(tokens);
         }
         Token tokenEntity = Token
@@ -96,6 +99,7 @@ public class UserServiceImpl implements UserService {
                 .jwtToken(token)
                 .build();
         tokenEntity = tokenRepository.save(tokenEntity);
+        tokenRegistry.register(token);
 
         return TokenDTO.builder()
                 .id(tokenEntity.getId())
@@ -0,0 +1,62 @@
+package com.mariamkatamashvili.gym.validator;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+@Component
+public class EntityLookupCache {
+    private static final String ATTRIBUTE_PREFIX = EntityLookupCache.class.getName() + ".";
+
+    public <T> T get(Class<T> type, String username, Supplier<T> loader) {
+        Map<String, Object> entries = entries(type);
+        if (entries == null) {
+            return loader.get();
+        }
+        if (entries.containsKey(username)) {
+            return type.cast(entries.get(username));
+        }
+        T entity = loader.get();
+        entries.put(username, entity);
+        return entity;
+    }
+
+    public <T> void put(Class<T> type, String username, T entity) {
+        Map<String, Object> entries = entries(type);
+        if (entries != null) {
+            entries.put(username, entity);
+        }
+    }
+
+    public void evict(String username) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        for (String name : attributes.getAttributeNames(RequestAttributes.SCOPE_REQUEST)) {
+            if (name.startsWith(ATTRIBUTE_PREFIX)
+                    && attributes.getAttribute(name, RequestAttributes.SCOPE_REQUEST) instanceof Map<?, ?> map) {
+                map.remove(username);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> entries(Class<?> type) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        String name = ATTRIBUTE_PREFIX + type.getSimpleName();
+        Object entries = attributes.getAttribute(name, RequestAttributes.SCOPE_REQUEST);
+        if (entries == null) {
+            entries = new HashMap<String, Object>();
+            attributes.setAttribute(name, entries, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Map<String, Object>) entries;
+    }
+}
@@ -18,26 +18,36 @@ public class Validator {
     private final TraineeRepository traineeRepo;
     private final TrainerRepository trainerRepo;
     private final UserRepository userRepo;
+    private final EntityLookupCache lookupCache;
 
-    public void validateTraineeExists(String username) {
-        Trainee trainee = traineeRepo.findByUsername(username);
+    public Trainee validateTraineeExists(String username) {
+        Trainee trainee = lookupCache.get(Trainee.class, username, () -> traineeRepo.findByUsername(username));
         if (trainee == null) {
             throw new GymException("Trainee not found for username - " + username);
         }
+        return trainee;
     }
-    public void validateTrainerExists(String username) {
-        Trainer trainer = trainerRepo.findByUsername(username);
+
+    public Trainer validateTrainerExists(String username) {
+        Trainer trainer = lookupCache.get(Trainer.class, username, () -> trainerRepo.findByUsername(username));
         if (trainer == null) {
             throw new GymException("Trainer not found for username - " + username);
         }
+        return trainer;
     }
 
-    public void validateUserExists(String username) {
-        User user = userRepo.findByUsername(username)
-                .orElseThrow(() -> new GymException("User not found"));
+    public User validateUserExists(String username) {
+        User user = lookupCache.get(User.class, username, () -> userRepo.findByUsername(username).orElse(null));
         if (user == null) {
-            throw new GymException("User not found for username: " + username);
+            throw new GymException("User not found");
+        }
+        if (user.getTrainee() != null) {
+            lookupCache.put(Trainee.class, username, user.getTrainee());
+        }
+        if (user.getTrainer() != null) {
+            lookupCache.put(Trainer.class, username, user.getTrainer());
         }
+        return user;
     }
 
     public void validateFutureDate(LocalDate date) {
@@ -45,4 +55,4 @@ public class Validator {
             throw new GymException("Training date must be in the future.");
         }
     }
-}
\ No newline at end of file
+}
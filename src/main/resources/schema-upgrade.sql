@@ -0,0 +1,34 @@
+-- Upgrades an existing MySQL schema to the current entity mappings.
+-- Run once against the target database (gym_db_prod, gym_db_stg) before deploying,
+-- since prod and stg start with spring.jpa.hibernate.ddl-auto=validate.
+
+-- Optimistic locking on User, Trainee and Trainer. DEFAULT 0 backfills existing rows.
+ALTER TABLE `user` ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE trainee ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE trainer ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Per-base-name username counters. Rows are seeded lazily from the user table on first use.
+-- Keep the default collation so base names compare the same way user.username does.
+CREATE TABLE username_sequence (
+    base_name   VARCHAR(255) NOT NULL,
+    last_suffix BIGINT       NOT NULL,
+    PRIMARY KEY (base_name)
+);
+
+-- Transactional outbox for workload messages.
+CREATE TABLE outbox_message (
+    id              BIGINT        NOT NULL AUTO_INCREMENT,
+    payload         TEXT          NOT NULL,
+    transaction_id  VARCHAR(255),
+    created_at      DATETIME(6)   NOT NULL,
+    next_attempt_at DATETIME(6)   NOT NULL,
+    attempts        INT           NOT NULL,
+    last_error      VARCHAR(1000),
+    parked          BIT           NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_outbox_next_attempt (parked, next_attempt_at, id)
+);
+
+-- Keyset pagination of training history.
+CREATE INDEX idx_training_trainee_date ON training (trainee_id, training_date, id);
+CREATE INDEX idx_training_trainer_date ON training (trainer_id, training_date, id);
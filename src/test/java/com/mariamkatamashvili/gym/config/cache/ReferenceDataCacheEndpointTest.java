@@ -0,0 +1,75 @@
+package com.mariamkatamashvili.gym.config.cache;
+
+import com.mariamkatamashvili.gym.entity.Role;
+import com.mariamkatamashvili.gym.entity.TrainingType;
+import com.mariamkatamashvili.gym.repository.TrainingTypeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataCacheEndpointTest {
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+    @Mock
+    private SessionFactory sessionFactory;
+    @Mock
+    private Cache cache;
+    @Mock
+    private Statistics statistics;
+    @Mock
+    private CacheRegionStatistics regionStatistics;
+
+    private ReferenceDataCacheEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        endpoint = new ReferenceDataCacheEndpoint(entityManagerFactory);
+    }
+
+    @Test
+    void evict_ClearsEntityAndQueryRegions() {
+        // given
+        when(sessionFactory.getCache()).thenReturn(cache);
+
+        // when
+        endpoint.evict();
+
+        // then
+        verify(cache).evictEntityData(TrainingType.class);
+        verify(cache).evictEntityData(Role.class);
+        verify(cache).evictQueryRegion(TrainingTypeRepository.QUERY_CACHE_REGION);
+    }
+
+    @Test
+    void regions_SkipsRegionsNotCreatedYet() {
+        // given
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        when(statistics.getCacheRegionStatistics(TrainingType.class.getName())).thenReturn(regionStatistics);
+        when(regionStatistics.getHitCount()).thenReturn(5L);
+        when(regionStatistics.getMissCount()).thenReturn(1L);
+        when(regionStatistics.getPutCount()).thenReturn(1L);
+
+        // when
+        Map<String, Map<String, Long>> regions = endpoint.regions();
+
+        // then
+        assertEquals(Set.of(TrainingType.class.getName()), regions.keySet());
+        assertEquals(5L, regions.get(TrainingType.class.getName()).get("hits"));
+    }
+}
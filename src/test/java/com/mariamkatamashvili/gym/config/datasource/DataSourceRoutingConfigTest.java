@@ -0,0 +1,99 @@
+package com.mariamkatamashvili.gym.config.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DataSourceRoutingConfigTest {
+    @Mock
+    private ReplicaLagMonitor lagMonitor;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        DataSource routing = new DataSourceRoutingConfig().dataSource(primary, replica, lagMonitor, meterRegistry);
+        jdbcTemplate = new JdbcTemplate(routing);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(routing));
+    }
+
+    @Test
+    void readOnlyTransaction_ReplicaUsable_ReadsFromReplica() {
+        // given
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+
+        // when
+        String source = readSource(true);
+
+        // then
+        assertEquals("replica", source);
+        assertEquals(1.0, meterRegistry.get("datasource.routing.reads").tag("pool", "replica").counter().count());
+    }
+
+    @Test
+    void readOnlyTransaction_ReplicaLagging_FallsBackToPrimary() {
+        // given
+        when(lagMonitor.isReplicaUsable()).thenReturn(false);
+
+        // when
+        String source = readSource(true);
+
+        // then
+        assertEquals("primary", source);
+        assertEquals(1.0, meterRegistry.get("datasource.routing.reads").tag("pool", "primary").counter().count());
+    }
+
+    @Test
+    void readWriteTransaction_UsesPrimary() {
+        // when
+        String source = readSource(false);
+
+        // then
+        assertEquals("primary", source);
+    }
+
+    @Test
+    void requireTransactionScopedSessions_OpenInViewEnabled_Throws() {
+        // given
+        DataSourceRoutingConfig config = new DataSourceRoutingConfig();
+        ReflectionTestUtils.setField(config, "openInView", true);
+
+        // when
+        assertThrows(IllegalStateException.class, config::requireTransactionScopedSessions);
+    }
+
+    private String readSource(boolean readOnly) {
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                jdbcTemplate.queryForObject("SELECT name FROM source", String.class));
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS source (name VARCHAR(20))");
+        jdbc.execute("DELETE FROM source");
+        jdbc.update("INSERT INTO source VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,111 @@
+package com.mariamkatamashvili.gym.config.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaLagMonitorTest {
+    @Mock
+    private DataSource replicaDataSource;
+    @Mock
+    private Connection connection;
+    @Mock
+    private Statement statement;
+    @Mock
+    private ResultSet status;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new ReplicaLagMonitor(replicaDataSource, Duration.ofSeconds(5), Duration.ofSeconds(5), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void start_LagWithinLimit_ReplicaUsable() throws SQLException {
+        // given
+        replicaReports(3L);
+
+        // when
+        monitor.start();
+
+        // then
+        assertTrue(monitor.isReplicaUsable());
+        assertEquals(3L, lag());
+    }
+
+    @Test
+    void start_LagOverLimit_ReplicaBypassed() throws SQLException {
+        // given
+        replicaReports(30L);
+
+        // when
+        monitor.start();
+
+        // then
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals(30L, lag());
+    }
+
+    @Test
+    void start_ReplicationStopped_ReplicaBypassed() throws SQLException {
+        // given
+        replicaReports(null);
+
+        // when
+        monitor.start();
+
+        // then
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals(-1L, lag());
+    }
+
+    @Test
+    void start_ReplicaUnreachable_ReplicaBypassed() throws SQLException {
+        // given
+        when(replicaDataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        // when
+        monitor.start();
+
+        // then
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals(-1L, lag());
+    }
+
+    private void replicaReports(Long lag) throws SQLException {
+        when(replicaDataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery("SHOW REPLICA STATUS")).thenReturn(status);
+        when(status.next()).thenReturn(true);
+        when(status.getLong("Seconds_Behind_Source")).thenReturn(lag == null ? 0L : lag);
+        when(status.wasNull()).thenReturn(lag == null);
+    }
+
+    private long lag() {
+        return (long) meterRegistry.get("datasource.replica.lag").gauge().value();
+    }
+}
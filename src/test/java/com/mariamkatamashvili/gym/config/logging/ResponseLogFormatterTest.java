@@ -0,0 +1,89 @@
+package com.mariamkatamashvili.gym.config.logging;
+
+import com.mariamkatamashvili.gym.dto.securityDto.RegistrationResponseDTO;
+import com.mariamkatamashvili.gym.dto.securityDto.TokenDTO;
+import com.mariamkatamashvili.gym.dto.trainingDto.TrainingPageDTO;
+import com.mariamkatamashvili.gym.dto.trainingDto.TrainingResponseDTO;
+import com.mariamkatamashvili.gym.dto.userDto.LoginRequestDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseLogFormatterTest {
+    private ResponseLogFormatter formatter;
+
+    @BeforeEach
+    void setUp() {
+        formatter = new ResponseLogFormatter();
+        ReflectionTestUtils.setField(formatter, "maxLength", 1000);
+        ReflectionTestUtils.setField(formatter, "maxElements", 2);
+    }
+
+    @Test
+    void format_MasksPasswordAndTokenFields() {
+        // given
+        RegistrationResponseDTO registration = new RegistrationResponseDTO(
+                new LoginRequestDTO("John.Doe", "secret"),
+                TokenDTO.builder().id(1L).token("jwt-value").username("John.Doe").build());
+
+        // when
+        String formatted = formatter.format(ResponseEntity.ok(registration));
+
+        // then
+        assertTrue(formatted.startsWith("<200 RegistrationResponseDTO(credentials=LoginRequestDTO(username=John.Doe, password=***)"));
+        assertTrue(formatted.contains("TokenDTO(id=1, token=***, username=John.Doe"));
+        assertFalse(formatted.contains("secret"));
+        assertFalse(formatted.contains("jwt-value"));
+    }
+
+    @Test
+    void format_MasksSensitiveMapKeysAndText() {
+        // given
+        Map<String, Object> response = Map.of("token", "jwt-value");
+
+        // when
+        // then
+        assertEquals("{token=***}", formatter.format(response));
+        assertEquals("user=John, password=***", formatter.format("user=John, password=secret"));
+    }
+
+    @Test
+    void format_LargeCollection_ShowsSizeAndFirstElements() {
+        // given
+        List<TrainingResponseDTO> trainings = new ArrayList<>();
+        for (long i = 0; i < 500; i++) {
+            trainings.add(new TrainingResponseDTO(i, "Session " + i, LocalDate.of(2024, 1, 1), 1L, "yoga", 60, "Jane.Roe"));
+        }
+
+        // when
+        String formatted = formatter.format(new TrainingPageDTO(trainings, "cursor"));
+
+        // then
+        assertTrue(formatted.startsWith("TrainingPageDTO(trainings=[size=500: TrainingResponseDTO(trainingName=Session 0"));
+        assertTrue(formatted.contains("Session 1"));
+        assertFalse(formatted.contains("Session 2"));
+        assertTrue(formatted.endsWith(", ...], nextCursor=cursor)"));
+    }
+
+    @Test
+    void format_LongOutput_IsTruncated() {
+        // given
+        ReflectionTestUtils.setField(formatter, "maxLength", 10);
+
+        // when
+        String formatted = formatter.format("a".repeat(100));
+
+        // then
+        assertEquals("a".repeat(10) + "...", formatted);
+    }
+}
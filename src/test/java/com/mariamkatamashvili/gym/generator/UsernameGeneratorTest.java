@@ -1,24 +1,36 @@
 package com.mariamkatamashvili.gym.generator;
 
-import com.mariamkatamashvili.gym.entity.User;
+import com.mariamkatamashvili.gym.entity.UsernameSequence;
 import com.mariamkatamashvili.gym.repository.UserRepository;
+import com.mariamkatamashvili.gym.repository.UsernameSequenceRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class UsernameGeneratorTest {
+    private static final String BASE_NAME = "John.Doe";
+
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UsernameSequenceRepository usernameSequenceRepository;
+
     @InjectMocks
     private UsernameGenerator usernameGenerator;
 
@@ -29,41 +41,128 @@ class UsernameGeneratorTest {
 
     @Test
     void generateUsername_Unique() {
-        String first = "John";
-        String last = "Doe";
-        when(userRepository.findAll()).thenReturn(Collections.emptyList());
+        when(usernameSequenceRepository.existsById(BASE_NAME)).thenReturn(false);
+        when(userRepository.findUsernamesStartingWith(BASE_NAME)).thenReturn(Collections.emptyList());
+        when(usernameSequenceRepository.findLastSuffix(BASE_NAME)).thenReturn(0L);
 
-        String username = usernameGenerator.generateUsername(first, last);
+        String username = usernameGenerator.generateUsername("John", "Doe");
 
         assertEquals("John.Doe", username);
+        verify(usernameSequenceRepository).allocate(BASE_NAME, 0);
     }
 
     @Test
     void generateUsername_DuplicateOnce() {
-        String first = "John";
-        String last = "Doe";
-        User existingUser = new User();
-        existingUser.setUsername("John.Doe");
-        when(userRepository.findAll()).thenReturn(Collections.singletonList(existingUser));
+        when(usernameSequenceRepository.existsById(BASE_NAME)).thenReturn(false);
+        when(userRepository.findUsernamesStartingWith(BASE_NAME)).thenReturn(List.of("John.Doe"));
+        when(usernameSequenceRepository.findLastSuffix(BASE_NAME)).thenReturn(1L);
 
-        String username = usernameGenerator.generateUsername(first, last);
+        String username = usernameGenerator.generateUsername("John", "Doe");
 
         assertEquals("John.Doe1", username);
+        verify(usernameSequenceRepository).allocate(BASE_NAME, 1);
     }
 
     @Test
     void generateUsername_MultipleDuplicates() {
-        String first = "John";
-        String last = "Doe";
-        User existingUser1 = new User();
-        existingUser1.setUsername("John.Doe");
-        User existingUser2 = new User();
-        existingUser2.setUsername("John.Doe1");
-        List<User> existingUsers = Arrays.asList(existingUser1, existingUser2);
-        when(userRepository.findAll()).thenReturn(existingUsers);
+        when(usernameSequenceRepository.existsById(BASE_NAME)).thenReturn(false);
+        when(userRepository.findUsernamesStartingWith(BASE_NAME)).thenReturn(List.of("John.Doe", "John.Doe1"));
+        when(usernameSequenceRepository.findLastSuffix(BASE_NAME)).thenReturn(2L);
 
-        String username = usernameGenerator.generateUsername(first, last);
+        String username = usernameGenerator.generateUsername("John", "Doe");
 
         assertEquals("John.Doe2", username);
+        verify(usernameSequenceRepository).allocate(BASE_NAME, 2);
+    }
+
+    @Test
+    void generateUsername_IgnoresNonNumericSuffixes() {
+        when(usernameSequenceRepository.existsById(BASE_NAME)).thenReturn(false);
+        when(userRepository.findUsernamesStartingWith(BASE_NAME)).thenReturn(List.of("John.Doering", "John.Doe7x"));
+        when(usernameSequenceRepository.findLastSuffix(BASE_NAME)).thenReturn(0L);
+
+        String username = usernameGenerator.generateUsername("John", "Doe");
+
+        assertEquals("John.Doe", username);
+        verify(usernameSequenceRepository).allocate(BASE_NAME, 0);
+    }
+
+    @Test
+    void generateUsername_ExistingSequence_SkipsPrefixScan() {
+        when(usernameSequenceRepository.existsById(BASE_NAME)).thenReturn(true);
+        when(usernameSequenceRepository.findLastSuffix(BASE_NAME)).thenReturn(5L);
+
+        String username = usernameGenerator.generateUsername("John", "Doe");
+
+        assertEquals("John.Doe5", username);
+        verify(userRepository, never()).findUsernamesStartingWith(anyString());
+    }
+
+    @Test
+    void generateUsernames_AllocatesOneBlockPerBaseName() {
+        when(usernameSequenceRepository.findSnapshots(anyList()))
+                .thenReturn(List.of(new UsernameSequence(BASE_NAME, 4L)))
+                .thenReturn(List.of(new UsernameSequence(BASE_NAME, 6L), new UsernameSequence("Jane.Roe", 0L)));
+        when(userRepository.findUsernamesStartingWith("Jane.Roe")).thenReturn(Collections.emptyList());
+
+        List<String> usernames = usernameGenerator.generateUsernames(
+                List.of("John", "Jane", "John"), List.of("Doe", "Roe", "Doe"));
+
+        assertEquals(List.of("John.Doe5", "Jane.Roe", "John.Doe6"), usernames);
+        verify(usernameSequenceRepository).allocateBlock(BASE_NAME, 0, 2);
+        verify(usernameSequenceRepository).allocateBlock("Jane.Roe", 0, 1);
+        verify(userRepository, never()).findUsernamesStartingWith(BASE_NAME);
+        verify(usernameSequenceRepository, never()).allocate(anyString(), anyLong());
+    }
+
+    @Test
+    void generateUsernames_SeedsNewBaseNameFromExistingUsers() {
+        when(usernameSequenceRepository.findSnapshots(anyList()))
+                .thenReturn(Collections.emptyList())
+                .thenReturn(List.of(new UsernameSequence(BASE_NAME, 3L)));
+        when(userRepository.findUsernamesStartingWith(BASE_NAME)).thenReturn(List.of("John.Doe", "John.Doe1"));
+
+        List<String> usernames = usernameGenerator.generateUsernames(List.of("John", "John"), List.of("Doe", "Doe"));
+
+        assertEquals(List.of("John.Doe2", "John.Doe3"), usernames);
+        verify(usernameSequenceRepository).allocateBlock(BASE_NAME, 2, 2);
+    }
+
+    @Test
+    void generateUsernames_MixedCase_SharesStoredSequence() {
+        when(usernameSequenceRepository.findSnapshots(anyList()))
+                .thenReturn(List.of(new UsernameSequence("John.Smith", 4L)))
+                .thenReturn(List.of(new UsernameSequence("John.Smith", 6L)));
+
+        List<String> usernames = usernameGenerator.generateUsernames(
+                List.of("john", "John"), List.of("smith", "Smith"));
+
+        assertEquals(List.of("john.smith5", "John.Smith6"), usernames);
+        verify(usernameSequenceRepository).allocateBlock("john.smith", 0, 2);
+        verify(usernameSequenceRepository, never()).allocateBlock(eq("John.Smith"), anyLong(), anyLong());
+    }
+
+    @Test
+    void generateUsernames_SnapshotNameNotMatched_ReadsSuffixFromDatabase() {
+        when(usernameSequenceRepository.findSnapshots(anyList()))
+                .thenReturn(List.of(new UsernameSequence("Jose.Doe", 1L)))
+                .thenReturn(List.of(new UsernameSequence("Jose.Doe", 2L)));
+        when(usernameSequenceRepository.findLastSuffix("Joße.Doe")).thenReturn(2L);
+        when(userRepository.findUsernamesStartingWith("Joße.Doe")).thenReturn(List.of("Jose.Doe", "Jose.Doe1"));
+
+        List<String> usernames = usernameGenerator.generateUsernames(List.of("Joße"), List.of("Doe"));
+
+        assertEquals(List.of("Joße.Doe2"), usernames);
+    }
+
+    @Test
+    void previewUsername_DoesNotAllocate() {
+        when(usernameSequenceRepository.findById(BASE_NAME))
+                .thenReturn(Optional.of(new UsernameSequence(BASE_NAME, 3L)));
+
+        String username = usernameGenerator.previewUsername("John", "Doe");
+
+        assertEquals("John.Doe4", username);
+        verify(usernameSequenceRepository, never()).allocate(anyString(), anyLong());
     }
-}
\ No newline at end of file
+}
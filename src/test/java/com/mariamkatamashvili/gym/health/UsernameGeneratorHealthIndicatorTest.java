@@ -13,7 +13,7 @@ class UsernameGeneratorHealthIndicatorTest {
     void whenUsernameIsGenerated_thenHealthIsUp() {
         // Given
         UsernameGenerator mockUsernameGenerator = Mockito.mock(UsernameGenerator.class);
-        when(mockUsernameGenerator.generateUsername("Test", "User")).thenReturn("TestUser");
+        when(mockUsernameGenerator.previewUsername("Test", "User")).thenReturn("TestUser");
 
         UsernameGeneratorHealthIndicator healthIndicator = new UsernameGeneratorHealthIndicator(mockUsernameGenerator);
 
@@ -28,7 +28,7 @@ class UsernameGeneratorHealthIndicatorTest {
     void whenUsernameIsEmpty_thenHealthIsDown() {
         // Given
         UsernameGenerator mockUsernameGenerator = Mockito.mock(UsernameGenerator.class);
-        when(mockUsernameGenerator.generateUsername("Test", "User")).thenReturn("");
+        when(mockUsernameGenerator.previewUsername("Test", "User")).thenReturn("");
 
         UsernameGeneratorHealthIndicator healthIndicator = new UsernameGeneratorHealthIndicator(mockUsernameGenerator);
 
@@ -44,7 +44,7 @@ class UsernameGeneratorHealthIndicatorTest {
     void whenUsernameGenerationThrowsException_thenHealthIsDown() {
         // Given
         UsernameGenerator mockUsernameGenerator = Mockito.mock(UsernameGenerator.class);
-        when(mockUsernameGenerator.generateUsername("Test", "User")).thenThrow(new RuntimeException("Error during username generation"));
+        when(mockUsernameGenerator.previewUsername("Test", "User")).thenThrow(new RuntimeException("Error during username generation"));
 
         UsernameGeneratorHealthIndicator healthIndicator = new UsernameGeneratorHealthIndicator(mockUsernameGenerator);
 
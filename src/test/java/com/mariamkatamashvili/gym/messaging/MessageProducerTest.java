@@ -0,0 +1,93 @@
+package com.mariamkatamashvili.gym.messaging;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mariamkatamashvili.gym.dto.ActionType;
+import com.mariamkatamashvili.gym.dto.WorkloadDTO;
+import jakarta.jms.Message;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.connection.CachingConnectionFactory;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.support.converter.MappingJackson2MessageConverter;
+import org.springframework.jms.support.converter.MessageType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class MessageProducerTest {
+    private static final String BROKER_URL = "vm://producer-test?broker.persistent=false&broker.useJmx=false";
+    private static final String DESTINATION = "workload-queue-test";
+    private static final String TRANSACTION_ID = "tx-1";
+    private static final String TOKEN = "jwt.token";
+
+    private CachingConnectionFactory connectionFactory;
+    private JmsTemplate receiver;
+    private MessageProducer messageProducer;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new CachingConnectionFactory(new ActiveMQConnectionFactory(BROKER_URL));
+
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setTargetType(MessageType.TEXT);
+        converter.setTypeIdPropertyName("_type");
+        converter.setObjectMapper(JsonMapper.builder().addModule(new JavaTimeModule()).build());
+
+        JmsTemplate jmsTemplate = new JmsTemplate(connectionFactory);
+        jmsTemplate.setMessageConverter(converter);
+        JmsTemplate batchJmsTemplate = new JmsTemplate(connectionFactory);
+        batchJmsTemplate.setMessageConverter(converter);
+        batchJmsTemplate.setSessionTransacted(true);
+
+        receiver = new JmsTemplate(connectionFactory);
+        receiver.setReceiveTimeout(1000);
+
+        messageProducer = new MessageProducer(jmsTemplate, batchJmsTemplate);
+        ReflectionTestUtils.setField(messageProducer, "destination", DESTINATION);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void testSendMessages_ThenEveryMessageCarriesHeaders() throws Exception {
+        // when
+        messageProducer.sendMessages(workloads(3));
+
+        // then
+        for (int i = 0; i < 3; i++) {
+            Message message = receiver.receive(DESTINATION);
+            assertNotNull(message);
+            assertEquals("WorkloadDTO", message.getStringProperty("_type"));
+            assertEquals(TRANSACTION_ID, message.getStringProperty("X-Transaction-Id"));
+            assertEquals("Bearer " + TOKEN, message.getStringProperty("Authorization"));
+        }
+    }
+
+    private static List<WorkloadMessage> workloads(int count) {
+        List<WorkloadMessage> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            WorkloadDTO workload = WorkloadDTO.builder()
+                    .username("trainer" + i)
+                    .firstName("John")
+                    .lastName("Doe")
+                    .isActive(true)
+                    .date(LocalDate.of(2030, 1, 1).plusDays(i % 365))
+                    .duration(60)
+                    .actionType(ActionType.DELETE)
+                    .build();
+            messages.add(new WorkloadMessage(workload, TRANSACTION_ID, TOKEN));
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,161 @@
+package com.mariamkatamashvili.gym.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mariamkatamashvili.gym.dto.ActionType;
+import com.mariamkatamashvili.gym.dto.WorkloadDTO;
+import com.mariamkatamashvili.gym.entity.OutboxMessage;
+import com.mariamkatamashvili.gym.repository.OutboxMessageRepository;
+import com.mariamkatamashvili.gym.security.ServiceTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jms.UncategorizedJmsException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+    private static final String TRANSACTION_ID = "tx-1";
+    private static final String SERVICE_TOKEN = "service.jwt";
+    private static final int BATCH_SIZE = 10;
+    private static final int MAX_ATTEMPTS = 5;
+
+    @Mock
+    private OutboxMessageRepository outboxRepo;
+    @Mock
+    private MessageProducer messageProducer;
+    @Mock
+    private ServiceTokenProvider serviceTokenProvider;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Captor
+    private ArgumentCaptor<List<WorkloadMessage>> sentCaptor;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(outboxRepo, messageProducer, serviceTokenProvider, objectMapper, transactionTemplate, meterRegistry);
+        ReflectionTestUtils.setField(relay, "enabled", false);
+        ReflectionTestUtils.setField(relay, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(relay, "initialBackoff", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(relay, "maxBackoff", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(relay, "maxAttempts", MAX_ATTEMPTS);
+        relay.start();
+    }
+
+    @Test
+    void testRelayBatch_WhenSendSucceeds_ThenDeleteMessage() throws Exception {
+        // given
+        OutboxMessage message = message();
+        when(outboxRepo.claimBatch(any(Instant.class), eq(BATCH_SIZE))).thenReturn(List.of(message));
+        when(serviceTokenProvider.token()).thenReturn(SERVICE_TOKEN);
+
+        // when
+        int relayed = relay.relayBatch();
+
+        // then
+        assertEquals(1, relayed);
+        verify(messageProducer).sendMessages(sentCaptor.capture());
+        assertEquals(1, sentCaptor.getValue().size());
+        assertEquals(TRANSACTION_ID, sentCaptor.getValue().get(0).transactionId());
+        assertEquals(SERVICE_TOKEN, sentCaptor.getValue().get(0).token());
+        verify(outboxRepo).deleteAllInBatch(List.of(message));
+        assertEquals(1.0, meterRegistry.get("outbox.relay.sent").counter().count());
+    }
+
+    @Test
+    void testRelayBatch_WhenSendFails_ThenRescheduleWithBackoff() throws Exception {
+        // given
+        OutboxMessage message = message();
+        message.setAttempts(2);
+        when(outboxRepo.claimBatch(any(Instant.class), anyInt())).thenReturn(List.of(message));
+        doThrow(new UncategorizedJmsException("broker down"))
+                .when(messageProducer).sendMessages(anyList());
+
+        // when
+        Instant before = Instant.now();
+        relay.relayBatch();
+
+        // then
+        verify(outboxRepo, never()).deleteAllInBatch(any());
+        assertEquals(3, message.getAttempts());
+        assertNotNull(message.getLastError());
+        assertFalse(message.getNextAttemptAt().isBefore(before.plusSeconds(4)));
+        assertFalse(message.isParked());
+        assertEquals(1.0, meterRegistry.get("outbox.relay.failed").counter().count());
+    }
+
+    @Test
+    void testRelayBatch_WhenLastAttemptFails_ThenParkMessage() throws Exception {
+        // given
+        OutboxMessage message = message();
+        message.setAttempts(MAX_ATTEMPTS - 1);
+        when(outboxRepo.claimBatch(any(Instant.class), anyInt())).thenReturn(List.of(message));
+        doThrow(new UncategorizedJmsException("broker down"))
+                .when(messageProducer).sendMessages(anyList());
+
+        // when
+        relay.relayBatch();
+
+        // then
+        verify(outboxRepo, never()).deleteAllInBatch(any());
+        assertEquals(MAX_ATTEMPTS, message.getAttempts());
+        assertTrue(message.isParked());
+        assertEquals(1.0, meterRegistry.get("outbox.relay.parked").counter().count());
+    }
+
+    @Test
+    void testBackoff_WhenManyAttempts_ThenCappedAtMax() {
+        assertEquals(Duration.ofSeconds(1), relay.backoff(1));
+        assertEquals(Duration.ofSeconds(8), relay.backoff(4));
+        assertEquals(Duration.ofMinutes(5), relay.backoff(40));
+    }
+
+    private OutboxMessage message() throws Exception {
+        WorkloadDTO workload = WorkloadDTO.builder()
+                .username("trainer")
+                .firstName("John")
+                .lastName("Doe")
+                .isActive(true)
+                .date(LocalDate.of(2030, 1, 1))
+                .duration(60)
+                .actionType(ActionType.ADD)
+                .build();
+        Instant now = Instant.now();
+        return OutboxMessage.builder()
+                .id(1L)
+                .payload(objectMapper.writeValueAsString(workload))
+                .transactionId(TRANSACTION_ID)
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build();
+    }
+}
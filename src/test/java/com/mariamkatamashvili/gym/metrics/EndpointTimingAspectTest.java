@@ -0,0 +1,160 @@
+package com.mariamkatamashvili.gym.metrics;
+
+import com.mariamkatamashvili.gym.exception.GymException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Repository;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EndpointTimingAspectTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EndpointTimingAspect aspect;
+    private SampleRepository repository;
+    private SampleController controller;
+
+    @BeforeEach
+    void setUp() {
+        aspect = new EndpointTimingAspect(meterRegistry);
+        ReflectionTestUtils.setField(aspect, "serviceLevelObjectives",
+                new Duration[]{Duration.ofMillis(100), Duration.ofMillis(250)});
+        repository = proxy(new SampleRepository());
+        controller = proxy(new SampleController(repository));
+    }
+
+    @Test
+    void timeEndpoint_TagsOutcomeAndNestedRepositoryCalls() {
+        // given
+        // when
+        controller.getProfile();
+
+        // then
+        Timer endpoint = meterRegistry.get(EndpointTimingAspect.ENDPOINT_TIMER)
+                .tag("endpoint", "SampleController.getProfile")
+                .tag("outcome", "REDIRECTION")
+                .tag("exception", "none")
+                .timer();
+        assertEquals(1, endpoint.count());
+        Timer call = meterRegistry.get(EndpointTimingAspect.CALL_TIMER)
+                .tag("endpoint", "SampleController.getProfile")
+                .tag("kind", "repository")
+                .tag("call", "SampleRepository.findProfile")
+                .timer();
+        assertEquals(2, call.count());
+    }
+
+    @Test
+    void timeEndpoint_Throws_TagsException() {
+        // given
+        // when
+        assertThrows(GymException.class, () -> controller.fail());
+
+        // then
+        assertEquals(1, meterRegistry.get(EndpointTimingAspect.ENDPOINT_TIMER)
+                .tag("endpoint", "SampleController.fail")
+                .tag("outcome", EndpointTimingAspect.UNRESOLVED)
+                .tag("exception", "GymException")
+                .timer().count());
+    }
+
+    @Test
+    void timeEndpoint_PlainBody_TagsSuccessful() {
+        // given
+        // when
+        controller.getName();
+
+        // then
+        assertEquals(1, meterRegistry.get(EndpointTimingAspect.ENDPOINT_TIMER)
+                .tag("endpoint", "SampleController.getName")
+                .tag("outcome", "SUCCESSFUL")
+                .tag("exception", "none")
+                .timer().count());
+    }
+
+    @Test
+    void timeEndpoint_ExceptionHandler_NotTimed() {
+        // given
+        SampleExceptionHandler handler = proxy(new SampleExceptionHandler());
+
+        // when
+        handler.handle(new GymException("Trainee not found"));
+
+        // then
+        assertTrue(meterRegistry.find(EndpointTimingAspect.ENDPOINT_TIMER).timers().isEmpty());
+    }
+
+    @Test
+    void timeRepository_OutsideRequest_TagsNoEndpoint() {
+        // given
+        // when
+        repository.findProfile();
+
+        // then
+        assertEquals(1, meterRegistry.get(EndpointTimingAspect.CALL_TIMER)
+                .tag("endpoint", EndpointTimingAspect.NO_ENDPOINT)
+                .tag("call", "SampleRepository.findProfile")
+                .timer().count());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return (T) factory.getProxy();
+    }
+
+    @RestController
+    static class SampleController {
+        private final SampleRepository repository;
+
+        SampleController() {
+            this(null);
+        }
+
+        SampleController(SampleRepository repository) {
+            this.repository = repository;
+        }
+
+        public ResponseEntity<String> getProfile() {
+            repository.findProfile();
+            repository.findProfile();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+
+        public String getName() {
+            return "profile";
+        }
+
+        public ResponseEntity<String> fail() {
+            throw new GymException("Trainee not found");
+        }
+    }
+
+    @RestController
+    @RestControllerAdvice
+    static class SampleExceptionHandler {
+        public ResponseEntity<String> handle(GymException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    @Repository
+    static class SampleRepository {
+        public String findProfile() {
+            return "profile";
+        }
+    }
+}
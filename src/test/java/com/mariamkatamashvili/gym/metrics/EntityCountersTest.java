@@ -0,0 +1,91 @@
+package com.mariamkatamashvili.gym.metrics;
+
+import com.mariamkatamashvili.gym.repository.TraineeRepository;
+import com.mariamkatamashvili.gym.repository.TrainerRepository;
+import com.mariamkatamashvili.gym.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EntityCountersTest {
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private TraineeRepository traineeRepository;
+    @Mock
+    private TrainerRepository trainerRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EntityCounters entityCounters;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.count()).thenReturn(10L);
+        when(traineeRepository.count()).thenReturn(6L);
+        when(trainerRepository.count()).thenReturn(4L);
+        entityCounters = new EntityCounters(userRepository, traineeRepository, trainerRepository, meterRegistry);
+        ReflectionTestUtils.setField(entityCounters, "reconcileInterval", Duration.ofHours(1));
+        entityCounters.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityCounters.stop();
+    }
+
+    @Test
+    void testStart_ThenCountsLoadedFromDatabase() {
+        assertEquals(10L, entityCounters.get(CountedEntity.USERS));
+        assertEquals(6L, entityCounters.get(CountedEntity.TRAINEES));
+        assertEquals(4L, entityCounters.get(CountedEntity.TRAINERS));
+        assertTrue(meterRegistry.get("entity.counts.staleness").gauge().value() < 60);
+    }
+
+    @Test
+    void testAdjustAfterCommit_WhenNoTransaction_ThenApplyImmediately() {
+        entityCounters.adjustAfterCommit(CountedEntity.TRAINEES, 1);
+
+        assertEquals(7L, entityCounters.get(CountedEntity.TRAINEES));
+    }
+
+    @Test
+    void testAdjustAfterCommit_WhenTransactionActive_ThenApplyOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            entityCounters.adjustAfterCommit(CountedEntity.TRAINERS, -1);
+            assertEquals(4L, entityCounters.get(CountedEntity.TRAINERS));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(3L, entityCounters.get(CountedEntity.TRAINERS));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testReconcile_ThenOverwriteDrift() {
+        entityCounters.adjustAfterCommit(CountedEntity.USERS, 5);
+        when(userRepository.count()).thenReturn(11L);
+
+        entityCounters.reconcile();
+
+        assertEquals(11L, entityCounters.get(CountedEntity.USERS));
+        verify(userRepository, times(2)).count();
+    }
+}
@@ -0,0 +1,125 @@
+package com.mariamkatamashvili.gym.security;
+
+import com.mariamkatamashvili.gym.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedPasswordEncoderTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.stop();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_RunOnHashingPool() {
+        // given
+        encoder = encoder(new PrefixEncoder(false), 2, 4);
+
+        // when
+        String encoded = encoder.encode("secret");
+
+        // then
+        assertEquals("hashed-secret", encoded);
+        assertTrue(encoder.matches("secret", encoded));
+        assertFalse(encoder.matches("other", encoded));
+        assertEquals(1, meterRegistry.get("password.hashing.wait").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("password.hashing.duration").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void encode_QueueFull_ShedsLoad() throws InterruptedException {
+        // given
+        encoder = encoder(new PrefixEncoder(true), 1, 1);
+        CompletableFuture.runAsync(() -> encoder.encode("running"));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture.runAsync(() -> encoder.encode("queued"));
+        waitForQueueDepth(1);
+
+        // when
+        // then
+        assertThrows(ServiceOverloadedException.class, () -> encoder.encode("rejected"));
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+    }
+
+    @Test
+    void encodeAll_PreservesOrder() {
+        // given
+        encoder = encoder(new PrefixEncoder(false), 2, 1);
+
+        // when
+        List<String> hashes = encoder.encodeAll(List.of("a", "b", "c", "d", "e"));
+
+        // then
+        assertEquals(List.of("hashed-a", "hashed-b", "hashed-c", "hashed-d", "hashed-e"), hashes);
+    }
+
+    @Test
+    void defaultPoolSize_LeavesHalfTheCoresFree() {
+        assertEquals(1, BoundedPasswordEncoder.defaultPoolSize(1));
+        assertEquals(1, BoundedPasswordEncoder.defaultPoolSize(2));
+        assertEquals(4, BoundedPasswordEncoder.defaultPoolSize(8));
+    }
+
+    private BoundedPasswordEncoder encoder(PasswordEncoder delegate, int threads, int queueCapacity) {
+        BoundedPasswordEncoder boundedEncoder = new BoundedPasswordEncoder(delegate, meterRegistry);
+        ReflectionTestUtils.setField(boundedEncoder, "threads", threads);
+        ReflectionTestUtils.setField(boundedEncoder, "queueCapacity", queueCapacity);
+        boundedEncoder.start();
+        return boundedEncoder;
+    }
+
+    private void waitForQueueDepth(double depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("password.hashing.queue.depth").gauge().value() < depth
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private class PrefixEncoder implements PasswordEncoder {
+        private final boolean blocking;
+
+        PrefixEncoder(boolean blocking) {
+            this.blocking = blocking;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if (blocking) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "hashed-" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
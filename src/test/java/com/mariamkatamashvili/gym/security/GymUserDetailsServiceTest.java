@@ -0,0 +1,82 @@
+package com.mariamkatamashvili.gym.security;
+
+import com.mariamkatamashvili.gym.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GymUserDetailsServiceTest {
+    private static final String USERNAME = "John.Doe";
+    private static final String PASSWORD_HASH = "hash";
+    private static final String ROLE = "ROLE_USER";
+
+    @Mock
+    private UserRepository userRepository;
+
+    private GymUserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = new GymUserDetailsService(userRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(userDetailsService, "maxSize", 100L);
+        ReflectionTestUtils.setField(userDetailsService, "expireAfterWrite", Duration.ofMinutes(1));
+        userDetailsService.init();
+    }
+
+    @Test
+    void testLoadUserByUsername_WhenCalledTwice_ThenQueriesOnce() {
+        // given
+        when(userRepository.findPrincipalByUsername(USERNAME))
+                .thenReturn(Optional.of(new GymPrincipal(USERNAME, PASSWORD_HASH, true)));
+        when(userRepository.findRoleNamesByUsername(USERNAME)).thenReturn(List.of(ROLE));
+
+        // when
+        userDetailsService.loadUserByUsername(USERNAME);
+        UserDetails userDetails = userDetailsService.loadUserByUsername(USERNAME);
+
+        // then
+        assertEquals(USERNAME, userDetails.getUsername());
+        assertEquals(PASSWORD_HASH, userDetails.getPassword());
+        assertEquals(ROLE, userDetails.getAuthorities().iterator().next().getAuthority());
+        verify(userRepository, times(1)).findPrincipalByUsername(USERNAME);
+    }
+
+    @Test
+    void testEvict_WhenEvicted_ThenReloads() {
+        // given
+        when(userRepository.findPrincipalByUsername(USERNAME))
+                .thenReturn(Optional.of(new GymPrincipal(USERNAME, PASSWORD_HASH, true)));
+
+        // when
+        userDetailsService.loadUserByUsername(USERNAME);
+        userDetailsService.evict(USERNAME);
+        userDetailsService.loadUserByUsername(USERNAME);
+
+        // then
+        verify(userRepository, times(2)).findPrincipalByUsername(USERNAME);
+    }
+
+    @Test
+    void testLoadUserByUsername_WhenMissing_ThenThrows() {
+        when(userRepository.findPrincipalByUsername(USERNAME)).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername(USERNAME));
+    }
+}
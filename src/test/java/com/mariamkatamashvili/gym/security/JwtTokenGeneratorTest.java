@@ -0,0 +1,122 @@
+package com.mariamkatamashvili.gym.security;
+
+import com.google.common.cache.Cache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class JwtTokenGeneratorTest {
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("a-test-secret-that-is-at-least-32-bytes".getBytes(StandardCharsets.UTF_8));
+    private static final String USERNAME = "John.Doe";
+
+    @Mock
+    private TokenRegistry tokenRegistry;
+
+    private JwtTokenGenerator jwtTokenGenerator;
+    private JwtParser jwtParser;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenGenerator = new JwtTokenGenerator(tokenRegistry, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtTokenGenerator, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtTokenGenerator, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtTokenGenerator, "claimsCacheMaxSize", 100L);
+        jwtTokenGenerator.init();
+        jwtParser = mock(JwtParser.class,
+                AdditionalAnswers.delegatesTo(ReflectionTestUtils.getField(jwtTokenGenerator, "jwtParser")));
+        ReflectionTestUtils.setField(jwtTokenGenerator, "jwtParser", jwtParser);
+        userDetails = new User(USERNAME, "password", List.of());
+    }
+
+    @Test
+    void testExtractUsername_WhenCached_ThenSignatureVerifiedOnce() {
+        // given
+        String token = jwtTokenGenerator.generateToken(userDetails);
+
+        // when
+        String first = jwtTokenGenerator.extractUsername(token);
+        String second = jwtTokenGenerator.extractUsername(token);
+
+        // then
+        assertEquals(USERNAME, first);
+        assertEquals(USERNAME, second);
+        verify(jwtParser, times(1)).parseSignedClaims(token);
+        assertEquals(1, claimsCache().stats().hitCount());
+    }
+
+    @Test
+    void testExtractUsername_WhenCachedClaimsExpired_ThenInvalidatedAndRejected() {
+        // given
+        Date issuedAt = new Date(System.currentTimeMillis() - 120_000);
+        Date expiredAt = new Date(System.currentTimeMillis() - 60_000);
+        String token = Jwts.builder()
+                .subject(USERNAME)
+                .issuedAt(issuedAt)
+                .expiration(expiredAt)
+                .signWith(signingKey(), Jwts.SIG.HS256)
+                .compact();
+        claimsCache().put(token, Jwts.claims().subject(USERNAME).issuedAt(issuedAt).expiration(expiredAt).build());
+
+        // when
+        // then
+        assertThrows(ExpiredJwtException.class, () -> jwtTokenGenerator.extractUsername(token));
+        assertNull(claimsCache().getIfPresent(token));
+        verify(jwtParser, times(1)).parseSignedClaims(token);
+    }
+
+    @Test
+    void testExtractUsername_WhenTampered_ThenNotServedFromCache() {
+        // given
+        String token = jwtTokenGenerator.generateToken(userDetails);
+        jwtTokenGenerator.extractUsername(token);
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                ("{\"sub\":\"admin\",\"exp\":" + (System.currentTimeMillis() / 1000 + 3600) + "}")
+                        .getBytes(StandardCharsets.UTF_8));
+        String tampered = parts[0] + "." + forgedPayload + "." + parts[2];
+
+        // when
+        // then
+        assertThrows(JwtException.class, () -> jwtTokenGenerator.extractUsername(tampered));
+        assertNull(claimsCache().getIfPresent(tampered));
+        verify(jwtParser, times(1)).parseSignedClaims(tampered);
+        assertEquals(USERNAME, jwtTokenGenerator.extractUsername(token));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<String, Claims> claimsCache() {
+        return (Cache<String, Claims>) ReflectionTestUtils.getField(jwtTokenGenerator, "claimsCache");
+    }
+
+    private SecretKey signingKey() {
+        return (SecretKey) ReflectionTestUtils.getField(jwtTokenGenerator, "signingKey");
+    }
+}
@@ -0,0 +1,69 @@
+package com.mariamkatamashvili.gym.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceTokenProviderTest {
+    @Mock
+    private JwtTokenGenerator jwtTokenGenerator;
+
+    private ServiceTokenProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        provider = new ServiceTokenProvider(jwtTokenGenerator);
+        ReflectionTestUtils.setField(provider, "serviceUsername", "gym-service");
+        ReflectionTestUtils.setField(provider, "scope", "workload:write");
+    }
+
+    @Test
+    void token_IssuedForServiceIdentityAndReused() {
+        // given
+        when(jwtTokenGenerator.generateToken(eq(Map.of(ServiceTokenProvider.SCOPE_CLAIM, "workload:write")),
+                argThat((UserDetails user) -> "gym-service".equals(user.getUsername())))).thenReturn("service.jwt");
+        when(jwtTokenGenerator.getExpiration("service.jwt"))
+                .thenReturn(Date.from(Instant.now().plusSeconds(3600)));
+
+        // when
+        String first = provider.token();
+        String second = provider.token();
+
+        // then
+        assertEquals("service.jwt", first);
+        assertEquals("service.jwt", second);
+        verify(jwtTokenGenerator, times(1)).generateToken(any(), any());
+    }
+
+    @Test
+    void token_PastHalfLife_IsRenewed() {
+        // given
+        when(jwtTokenGenerator.generateToken(any(), any())).thenReturn("expired.jwt", "fresh.jwt");
+        when(jwtTokenGenerator.getExpiration("expired.jwt")).thenReturn(Date.from(Instant.now().minusSeconds(1)));
+        when(jwtTokenGenerator.getExpiration("fresh.jwt")).thenReturn(Date.from(Instant.now().plusSeconds(3600)));
+
+        // when
+        provider.token();
+        String renewed = provider.token();
+
+        // then
+        assertEquals("fresh.jwt", renewed);
+    }
+}
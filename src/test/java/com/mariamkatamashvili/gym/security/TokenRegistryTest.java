@@ -0,0 +1,116 @@
+package com.mariamkatamashvili.gym.security;
+
+import com.mariamkatamashvili.gym.entity.Token;
+import com.mariamkatamashvili.gym.repository.TokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRegistryTest {
+    private static final String STORED_TOKEN = "stored.jwt.token";
+    private static final String NEW_TOKEN = "new.jwt.token";
+
+    @Mock
+    private TokenRepository tokenRepository;
+
+    private TokenRegistry tokenRegistry;
+
+    @BeforeEach
+    void setUp() {
+        tokenRegistry = new TokenRegistry(tokenRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(tokenRegistry, "recheckInterval", Duration.ofMinutes(1));
+        tokenRegistry.init();
+    }
+
+    @Test
+    void testIsActive_WhenStored_ThenReadFromDatabaseOnce() {
+        // given
+        when(tokenRepository.findByJwtToken(STORED_TOKEN)).thenReturn(Optional.of(new Token()));
+
+        // when
+        boolean first = tokenRegistry.isActive(STORED_TOKEN);
+        boolean second = tokenRegistry.isActive(STORED_TOKEN);
+
+        // then
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(tokenRegistry.isActive(NEW_TOKEN));
+        verify(tokenRepository, times(1)).findByJwtToken(STORED_TOKEN);
+    }
+
+    @Test
+    void testRegisterAndRevoke() {
+        // when
+        tokenRegistry.register(NEW_TOKEN);
+        tokenRegistry.revoke(STORED_TOKEN);
+
+        // then
+        assertTrue(tokenRegistry.isActive(NEW_TOKEN));
+        assertFalse(tokenRegistry.isActive(STORED_TOKEN));
+        verify(tokenRepository, never()).findByJwtToken(NEW_TOKEN);
+        verify(tokenRepository, never()).findByJwtToken(STORED_TOKEN);
+    }
+
+    @Test
+    void testIsActive_WhenTokenEmpty_ThenFalse() {
+        tokenRegistry.register("");
+
+        assertFalse(tokenRegistry.isActive(""));
+        assertFalse(tokenRegistry.isActive(null));
+    }
+
+    @Test
+    void testIsActive_WhenRevokedDuringLookup_ThenRevocationWins() {
+        // given
+        when(tokenRepository.findByJwtToken(STORED_TOKEN)).thenAnswer(invocation -> {
+            tokenRegistry.revoke(STORED_TOKEN);
+            return Optional.of(new Token());
+        });
+
+        // when
+        tokenRegistry.isActive(STORED_TOKEN);
+
+        // then
+        assertFalse(tokenRegistry.isActive(STORED_TOKEN));
+        verify(tokenRepository, times(1)).findByJwtToken(STORED_TOKEN);
+    }
+
+    @Test
+    void testRegisterAndRevoke_WhenInTransaction_ThenAppliedAfterCommit() {
+        // given
+        when(tokenRepository.findByJwtToken(STORED_TOKEN)).thenReturn(Optional.of(new Token()));
+        when(tokenRepository.findByJwtToken(NEW_TOKEN)).thenReturn(Optional.empty());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when
+            tokenRegistry.register(NEW_TOKEN);
+            tokenRegistry.revoke(STORED_TOKEN);
+
+            // then
+            assertFalse(tokenRegistry.isActive(NEW_TOKEN));
+            assertTrue(tokenRegistry.isActive(STORED_TOKEN));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertTrue(tokenRegistry.isActive(NEW_TOKEN));
+            assertFalse(tokenRegistry.isActive(STORED_TOKEN));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.mariamkatamashvili.gym.service.implementation;
+
+import com.mariamkatamashvili.gym.dto.securityDto.BulkRegistrationResponseDTO;
+import com.mariamkatamashvili.gym.dto.traineeDto.RegistrationRequestDTO;
+import com.mariamkatamashvili.gym.entity.Token;
+import com.mariamkatamashvili.gym.entity.User;
+import com.mariamkatamashvili.gym.exception.GymException;
+import com.mariamkatamashvili.gym.generator.PasswordGenerator;
+import com.mariamkatamashvili.gym.generator.UsernameGenerator;
+import com.mariamkatamashvili.gym.metrics.CountedEntity;
+import com.mariamkatamashvili.gym.metrics.EntityCounters;
+import com.mariamkatamashvili.gym.repository.RegistrationBatchRepository;
+import com.mariamkatamashvili.gym.security.BoundedPasswordEncoder;
+import com.mariamkatamashvili.gym.security.JwtTokenGenerator;
+import com.mariamkatamashvili.gym.security.TokenRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkAccountRegistrarTest {
+    @Mock
+    private UsernameGenerator usernameGenerator;
+    @Mock
+    private PasswordGenerator passwordGenerator;
+    @Mock
+    private BoundedPasswordEncoder passwordEncoder;
+    @Mock
+    private JwtTokenGenerator jwtTokenGenerator;
+    @Mock
+    private TokenRegistry tokenRegistry;
+    @Mock
+    private RegistrationBatchRepository registrationBatchRepo;
+    @Mock
+    private EntityCounters entityCounters;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BulkAccountRegistrar registrar;
+
+    @BeforeEach
+    void setUp() {
+        registrar = new BulkAccountRegistrar(usernameGenerator, passwordGenerator, passwordEncoder, jwtTokenGenerator,
+                tokenRegistry, registrationBatchRepo, entityCounters, meterRegistry);
+        ReflectionTestUtils.setField(registrar, "maxBulkSize", 3);
+    }
+
+    @Test
+    void register_CreatesAccountsAndReportsInvalidRows() {
+        // given
+        List<RegistrationRequestDTO> requests = new ArrayList<>();
+        requests.add(new RegistrationRequestDTO("John", "Doe", null, null));
+        requests.add(new RegistrationRequestDTO(" ", "Doe", null, null));
+        requests.add(new RegistrationRequestDTO("Jane", "Roe", null, null));
+        when(usernameGenerator.generateUsernames(List.of("John", "Jane"), List.of("Doe", "Roe")))
+                .thenReturn(List.of("John.Doe", "Jane.Roe"));
+        when(passwordGenerator.generatePassword()).thenReturn("pass1", "pass2");
+        when(passwordEncoder.encodeAll(List.of("pass1", "pass2"))).thenReturn(List.of("hashed-pass1", "hashed-pass2"));
+        when(jwtTokenGenerator.generateToken(any())).thenReturn("token1", "token2");
+        AtomicLong ids = new AtomicLong();
+        doAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            users.forEach(user -> user.setId(ids.incrementAndGet()));
+            return null;
+        }).when(registrationBatchRepo).insertUsers(anyList());
+        doAnswer(invocation -> {
+            List<Token> tokens = invocation.getArgument(0);
+            tokens.forEach(token -> token.setId(ids.incrementAndGet()));
+            return null;
+        }).when(registrationBatchRepo).insertTokens(anyList());
+        List<User> written = new ArrayList<>();
+
+        // when
+        BulkRegistrationResponseDTO response = registrar.register(CountedEntity.TRAINEES, requests,
+                RegistrationRequestDTO::getFirstName, RegistrationRequestDTO::getLastName,
+                request -> null, (accepted, users) -> written.addAll(users));
+
+        // then
+        assertEquals(3, response.getReceived());
+        assertEquals(2, response.getRegistered());
+        assertEquals(1, response.getErrors().size());
+        assertEquals(1, response.getErrors().get(0).getIndex());
+        assertEquals("Jane.Roe", response.getRegistrations().get(1).getCredentials().getUsername());
+        assertEquals("pass2", response.getRegistrations().get(1).getCredentials().getPassword());
+        assertEquals(4L, response.getRegistrations().get(1).getToken().getId());
+        assertEquals("hashed-pass1", written.get(0).getPassword());
+        assertEquals(2L, written.get(1).getId());
+        InOrder hashingBeforeAllocation = inOrder(passwordEncoder, usernameGenerator);
+        hashingBeforeAllocation.verify(passwordEncoder).encodeAll(List.of("pass1", "pass2"));
+        hashingBeforeAllocation.verify(usernameGenerator).generateUsernames(List.of("John", "Jane"), List.of("Doe", "Roe"));
+        verify(tokenRegistry).register("token1");
+        verify(tokenRegistry).register("token2");
+        verify(entityCounters).adjustAfterCommit(CountedEntity.USERS, 2);
+        verify(entityCounters).adjustAfterCommit(CountedEntity.TRAINEES, 2);
+        assertEquals(2.0, meterRegistry.get("registration.bulk.records").tag("role", "trainees").counter().count());
+    }
+
+    @Test
+    void register_NoValidRows_SkipsInserts() {
+        // given
+        List<RegistrationRequestDTO> requests = List.of(new RegistrationRequestDTO("John", null, null, null));
+
+        // when
+        BulkRegistrationResponseDTO response = registrar.register(CountedEntity.TRAINEES, requests,
+                RegistrationRequestDTO::getFirstName, RegistrationRequestDTO::getLastName,
+                request -> null, (accepted, users) -> {
+                });
+
+        // then
+        assertEquals(0, response.getRegistered());
+        assertEquals(1, response.getErrors().size());
+        verifyNoInteractions(usernameGenerator, registrationBatchRepo, tokenRegistry);
+        verify(entityCounters, never()).adjustAfterCommit(any(), anyLong());
+    }
+
+    @Test
+    void register_TooManyRows_Throws() {
+        // given
+        RegistrationRequestDTO request = new RegistrationRequestDTO("John", "Doe", null, null);
+        List<RegistrationRequestDTO> requests = List.of(request, request, request, request);
+
+        // when
+        // then
+        assertThrows(GymException.class, () -> registrar.register(CountedEntity.TRAINEES, requests,
+                RegistrationRequestDTO::getFirstName, RegistrationRequestDTO::getLastName,
+                r -> null, (accepted, users) -> {
+                }));
+    }
+}
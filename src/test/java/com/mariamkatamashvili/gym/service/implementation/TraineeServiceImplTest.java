@@ -9,23 +9,26 @@ import com.mariamkatamashvili.gym.dto.traineeDto.UpdateResponseDTO;
 import com.mariamkatamashvili.gym.dto.traineeDto.UpdateTrainersRequestDTO;
 import com.mariamkatamashvili.gym.dto.trainerDto.TrainerDTO;
 import com.mariamkatamashvili.gym.dto.trainerDto.TrainerUsernameDTO;
+import com.mariamkatamashvili.gym.dto.trainingDto.TrainingCursor;
+import com.mariamkatamashvili.gym.dto.trainingDto.TrainingPageDTO;
 import com.mariamkatamashvili.gym.dto.trainingDto.TrainingResponseDTO;
 import com.mariamkatamashvili.gym.dto.trainingDto.TrainingsRequestDTO;
 import com.mariamkatamashvili.gym.dto.trainingTypeDto.TrainingTypeDTO;
 import com.mariamkatamashvili.gym.entity.Trainee;
 import com.mariamkatamashvili.gym.entity.Trainer;
-import com.mariamkatamashvili.gym.entity.Training;
 import com.mariamkatamashvili.gym.entity.TrainingType;
 import com.mariamkatamashvili.gym.entity.User;
 import com.mariamkatamashvili.gym.exception.GymException;
 import com.mariamkatamashvili.gym.generator.PasswordGenerator;
 import com.mariamkatamashvili.gym.generator.UsernameGenerator;
+import com.mariamkatamashvili.gym.metrics.CountedEntity;
+import com.mariamkatamashvili.gym.metrics.EntityCounters;
 import com.mariamkatamashvili.gym.repository.TraineeRepository;
 import com.mariamkatamashvili.gym.repository.TrainerRepository;
 import com.mariamkatamashvili.gym.repository.TrainingRepository;
-import com.mariamkatamashvili.gym.repository.TrainingTypeRepository;
 import com.mariamkatamashvili.gym.repository.UserRepository;
 import com.mariamkatamashvili.gym.security.GymUserDetails;
+import com.mariamkatamashvili.gym.security.GymUserDetailsService;
 import com.mariamkatamashvili.gym.security.JwtTokenGenerator;
 import com.mariamkatamashvili.gym.service.TokenService;
 import com.mariamkatamashvili.gym.service.implementation.TraineeServiceImpl;
@@ -35,6 +38,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -45,11 +50,14 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -69,6 +77,7 @@ class TraineeServiceImplTest {
     private static final String USER_NOT_FOUND = "User not found";
     private static final String TRAINEE_NOT_FOUND = "Trainee not found";
     private static final String TRAINING = "Morning Yoga";
+    private static final Long TRAINING_ID = 7L;
 
     @Mock
     private TraineeRepository traineeRepo;
@@ -79,8 +88,6 @@ class TraineeServiceImplTest {
     @Mock
     private TrainingRepository trainingRepo;
     @Mock
-    private TrainingTypeRepository trainingTypeRepo;
-    @Mock
     private UsernameGenerator usernameGenerator;
     @Mock
     private PasswordGenerator passwordGenerator;
@@ -89,8 +96,12 @@ class TraineeServiceImplTest {
     @Mock
     private JwtTokenGenerator jwtTokenGenerator;
     @Mock
+    private GymUserDetailsService userDetailsService;
+    @Mock
     private TokenService tokenService;
     @Mock
+    private EntityCounters entityCounters;
+    @Mock
     private Validator validator;
 
     @InjectMocks
@@ -120,6 +131,8 @@ class TraineeServiceImplTest {
         // then
         assertNotNull(actualResponse);
         verify(traineeRepo, times(1)).save(any(Trainee.class));
+        verify(entityCounters).adjustAfterCommit(CountedEntity.USERS, 1);
+        verify(entityCounters).adjustAfterCommit(CountedEntity.TRAINEES, 1);
     }
 
     @Test
@@ -128,8 +141,7 @@ class TraineeServiceImplTest {
         User user = User.builder().username(USERNAME_JOHN_DOE).firstName(FIRST_NAME_JOHN).lastName(LAST_NAME_DOE).build();
         Trainee trainee = Trainee.builder().user(user).build();
 
-        when(userRepo.findByUsername(USERNAME_JOHN_DOE)).thenReturn(Optional.of(user));
-        when(traineeRepo.findByUsername(USERNAME_JOHN_DOE)).thenReturn(trainee);
+        when(traineeRepo.findProfileByUsername(USERNAME_JOHN_DOE)).thenReturn(trainee);
 
         // when
         ProfileResponseDTO profileResponse = traineeService.getProfile(USERNAME_JOHN_DOE);
@@ -152,8 +164,8 @@ class TraineeServiceImplTest {
         User user = User.builder().username(USERNAME_JOHN_DOE).build();
         Trainee trainee = Trainee.builder().user(user).build();
 
-        when(userRepo.findByUsername(USERNAME_JOHN_DOE)).thenReturn(Optional.of(user));
-        when(traineeRepo.findByUsername(USERNAME_JOHN_DOE)).thenReturn(trainee);
+        when(validator.validateUserExists(USERNAME_JOHN_DOE)).thenReturn(user);
+        when(validator.validateTraineeExists(USERNAME_JOHN_DOE)).thenReturn(trainee);
 
         // when
         UpdateResponseDTO updateResponse = traineeService.updateProfile(updateRequestDTO);
@@ -167,20 +179,34 @@ class TraineeServiceImplTest {
     @Test
     void testGetUnassignedTrainers() {
         // given
-        TrainingType specialization = TrainingType.builder().id(SPECIALIZATION_ID).trainingTypeName(SPECIALIZATION_NAME).build();
-        Trainer trainer = Trainer.builder().user(User.builder().username(USERNAME_TRAINER1).build()).specialization(specialization).build();
-        List<Trainer> allTrainers = List.of(trainer);
-        Trainee trainee = Trainee.builder().user(User.builder().username(USERNAME_JOHN_DOE).build()).build();
+        TrainerDTO trainer = new TrainerDTO(USERNAME_TRAINER1, FIRST_NAME_JOHN, LAST_NAME_DOE,
+                SPECIALIZATION_ID, SPECIALIZATION_NAME);
 
-        when(traineeRepo.findByUsername(USERNAME_JOHN_DOE)).thenReturn(trainee);
-        when(trainerRepo.findAll()).thenReturn(allTrainers);
+        when(trainerRepo.findUnassignedTrainers(USERNAME_JOHN_DOE, SPECIALIZATION_NAME, PageRequest.of(0, 50)))
+                .thenReturn(List.of(trainer));
 
         // when
-        List<TrainerDTO> unassignedTrainers = traineeService.getUnassignedTrainers(USERNAME_JOHN_DOE);
+        List<TrainerDTO> unassignedTrainers =
+                traineeService.getUnassignedTrainers(USERNAME_JOHN_DOE, SPECIALIZATION_NAME, null, null);
 
         // then
         assertNotNull(unassignedTrainers);
-        assertFalse(unassignedTrainers.isEmpty());
+        assertEquals(1, unassignedTrainers.size());
+        assertEquals(SPECIALIZATION_NAME, unassignedTrainers.get(0).getSpecialization().getTrainingTypeName());
+        verify(traineeRepo, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void testGetUnassignedTrainers_WhenSizeAboveMax_ThenClamp() {
+        // given
+        when(trainerRepo.findUnassignedTrainers(USERNAME_JOHN_DOE, null, PageRequest.of(2, 500)))
+                .thenReturn(List.of());
+
+        // when
+        List<TrainerDTO> unassignedTrainers = traineeService.getUnassignedTrainers(USERNAME_JOHN_DOE, null, 2, 10_000);
+
+        // then
+        assertTrue(unassignedTrainers.isEmpty());
     }
 
     @Test
@@ -193,29 +219,70 @@ class TraineeServiceImplTest {
         trainingsRequestDTO.setStartDate(LocalDate.now().minusDays(1));
         trainingsRequestDTO.setEndDate(LocalDate.now().plusDays(1));
 
-        TrainingType trainingType = TrainingType.builder().id(SPECIALIZATION_ID).trainingTypeName(SPECIALIZATION_NAME).build();
-        User trainerUser = User.builder().username(USERNAME_TRAINER1).build();
-        Trainer trainer = Trainer.builder().user(trainerUser).specialization(trainingType).build();
-        Training training = Training.builder().trainingName(TRAINING).trainingDate(LocalDate.now()).duration(60).trainer(trainer).trainingType(trainingType).build();
-        List<Training> trainings = List.of(training);
+        TrainingResponseDTO training = new TrainingResponseDTO(TRAINING_ID, TRAINING, LocalDate.now(), SPECIALIZATION_ID,
+                SPECIALIZATION_NAME, 60, USERNAME_TRAINER1);
+        List<TrainingResponseDTO> trainings = List.of(training);
 
         when(trainingRepo.findTraineeTrainingsByCriteria(
                 eq(USERNAME_JOHN_DOE),
                 eq(LocalDate.now().minusDays(1)),
                 eq(LocalDate.now().plusDays(1)),
                 isNull(),
-                eq(SPECIALIZATION_NAME)
+                eq(SPECIALIZATION_NAME),
+                isNull(),
+                isNull(),
+                any(Pageable.class)
         )).thenReturn(trainings);
 
-        when(trainingTypeRepo.findByTrainingTypeName(SPECIALIZATION_NAME)).thenReturn(Optional.of(trainingType));
-
         // when
-        List<TrainingResponseDTO> trainingResponses = traineeService.getTrainings(trainingsRequestDTO);
+        TrainingPageDTO page = traineeService.getTrainings(trainingsRequestDTO);
+        List<TrainingResponseDTO> trainingResponses = page.getTrainings();
 
         // then
         assertNotNull(trainingResponses);
+        assertNull(page.getNextCursor());
         assertFalse(trainingResponses.isEmpty());
         assertEquals(TRAINING, trainingResponses.get(0).getTrainingName());
+        assertEquals(SPECIALIZATION_NAME, trainingResponses.get(0).getTrainingType().getTrainingTypeName());
+        assertEquals(USERNAME_TRAINER1, trainingResponses.get(0).getName());
+    }
+
+    @Test
+    void testGetTrainings_WhenMoreRowsThanPage_ThenReturnsNextCursor() {
+        // given
+        TrainingsRequestDTO trainingsRequestDTO = new TrainingsRequestDTO();
+        trainingsRequestDTO.setUsername(USERNAME_JOHN_DOE);
+        trainingsRequestDTO.setSize(1);
+        LocalDate date = LocalDate.of(2024, 5, 1);
+        TrainingResponseDTO first = new TrainingResponseDTO(TRAINING_ID, TRAINING, date, SPECIALIZATION_ID,
+                SPECIALIZATION_NAME, 60, USERNAME_TRAINER1);
+        TrainingResponseDTO second = new TrainingResponseDTO(TRAINING_ID - 1, TRAINING, date, SPECIALIZATION_ID,
+                SPECIALIZATION_NAME, 60, USERNAME_TRAINER1);
+
+        when(trainingRepo.findTraineeTrainingsByCriteria(
+                eq(USERNAME_JOHN_DOE), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
+                eq(PageRequest.of(0, 2))
+        )).thenReturn(List.of(first, second));
+
+        // when
+        TrainingPageDTO page = traineeService.getTrainings(trainingsRequestDTO);
+
+        // then
+        assertEquals(1, page.getTrainings().size());
+        TrainingCursor cursor = TrainingCursor.decode(page.getNextCursor());
+        assertEquals(date, cursor.date());
+        assertEquals(TRAINING_ID, cursor.id());
+    }
+
+    @Test
+    void testGetTrainings_WhenCursorMalformed_ThenThrow() {
+        TrainingsRequestDTO trainingsRequestDTO = new TrainingsRequestDTO();
+        trainingsRequestDTO.setUsername(USERNAME_JOHN_DOE);
+        trainingsRequestDTO.setCursor("not-a-cursor");
+
+        GymException exception = assertThrows(GymException.class, () -> traineeService.getTrainings(trainingsRequestDTO));
+
+        assertEquals("Invalid cursor", exception.getMessage());
     }
 
     @Test
@@ -233,7 +300,7 @@ class TraineeServiceImplTest {
         User trainerUser = User.builder().username(USERNAME_TRAINER1).build();
         Trainer trainer = Trainer.builder().user(trainerUser).specialization(trainingType).build();
 
-        when(traineeRepo.findByUsername(USERNAME_JOHN_DOE)).thenReturn(trainee);
+        when(validator.validateTraineeExists(USERNAME_JOHN_DOE)).thenReturn(trainee);
         when(trainerRepo.findByUsername(USERNAME_TRAINER1)).thenReturn(trainer);
 
         // when
@@ -256,7 +323,7 @@ class TraineeServiceImplTest {
 
         User user = User.builder().username(USERNAME_JOHN_DOE).build();
 
-        when(userRepo.findByUsername(USERNAME_JOHN_DOE)).thenReturn(Optional.of(user));
+        when(validator.validateUserExists(USERNAME_JOHN_DOE)).thenReturn(user);
 
         // when
         traineeService.toggleActivation(toggleActivationDTO);
@@ -264,6 +331,7 @@ class TraineeServiceImplTest {
         // then
         assertTrue(user.getIsActive());
         verify(userRepo, times(1)).save(user);
+        verify(userDetailsService, times(1)).evict(USERNAME_JOHN_DOE);
     }
 
     @Test
@@ -285,7 +353,7 @@ class TraineeServiceImplTest {
     @Test
     void testGetProfile_UserNotFound() {
         // given
-        when(userRepo.findByUsername(USERNAME_JOHN_DOE)).thenReturn(Optional.empty());
+        when(validator.validateUserExists(USERNAME_JOHN_DOE)).thenThrow(new GymException(USER_NOT_FOUND));
 
         // when
         GymException exception = assertThrows(GymException.class, () -> traineeService.getProfile(USERNAME_JOHN_DOE));
@@ -294,13 +362,24 @@ class TraineeServiceImplTest {
         assertTrue(exception.getMessage().contains(USER_NOT_FOUND));
     }
 
+    @Test
+    void testGetProfileETag_TraineeNotFound() {
+        // given
+        when(traineeRepo.findProfileVersions(USERNAME_JOHN_DOE)).thenReturn(List.of());
+
+        // when
+        GymException exception = assertThrows(GymException.class, () -> traineeService.getProfileETag(USERNAME_JOHN_DOE));
+
+        // then
+        assertTrue(exception.getMessage().contains(TRAINEE_NOT_FOUND));
+    }
+
     @Test
     void testGetProfile_TraineeNotFound() {
         // given
         User user = User.builder().username(USERNAME_JOHN_DOE).build();
 
-        when(userRepo.findByUsername(USERNAME_JOHN_DOE)).thenReturn(Optional.of(user));
-        when(traineeRepo.findByUsername(USERNAME_JOHN_DOE)).thenReturn(null);
+        when(validator.validateUserExists(USERNAME_JOHN_DOE)).thenReturn(user);
 
         // when
         GymException exception = assertThrows(GymException.class, () -> traineeService.getProfile(USERNAME_JOHN_DOE));
@@ -315,7 +394,7 @@ class TraineeServiceImplTest {
         UpdateRequestDTO updateRequestDTO = new UpdateRequestDTO();
         updateRequestDTO.setUsername(USERNAME_JOHN_DOE);
 
-        when(userRepo.findByUsername(USERNAME_JOHN_DOE)).thenReturn(Optional.empty());
+        when(validator.validateUserExists(USERNAME_JOHN_DOE)).thenThrow(new GymException(USER_NOT_FOUND));
 
         // when
         GymException exception = assertThrows(GymException.class, () -> traineeService.updateProfile(updateRequestDTO));
@@ -331,8 +410,8 @@ class TraineeServiceImplTest {
         updateRequestDTO.setUsername(USERNAME_JOHN_DOE);
         User user = User.builder().username(USERNAME_JOHN_DOE).build();
 
-        when(userRepo.findByUsername(USERNAME_JOHN_DOE)).thenReturn(Optional.of(user));
-        when(traineeRepo.findByUsername(USERNAME_JOHN_DOE)).thenReturn(null);
+        when(validator.validateUserExists(USERNAME_JOHN_DOE)).thenReturn(user);
+        when(validator.validateTraineeExists(USERNAME_JOHN_DOE)).thenThrow(new GymException(TRAINEE_NOT_FOUND));
 
         // when
         GymException exception = assertThrows(GymException.class, () -> traineeService.updateProfile(updateRequestDTO));
@@ -347,7 +426,7 @@ class TraineeServiceImplTest {
         ToggleActivationDTO toggleActivationDTO = new ToggleActivationDTO();
         toggleActivationDTO.setUsername(USERNAME_JOHN_DOE);
 
-        when(userRepo.findByUsername(USERNAME_JOHN_DOE)).thenReturn(Optional.empty());
+        when(validator.validateUserExists(USERNAME_JOHN_DOE)).thenThrow(new GymException(USER_NOT_FOUND));
 
         // when
         GymException exception = assertThrows(GymException.class, () -> traineeService.toggleActivation(toggleActivationDTO));
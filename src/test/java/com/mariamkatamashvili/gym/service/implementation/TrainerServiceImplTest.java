@@ -1,24 +1,29 @@
 package com.mariamkatamashvili.gym.service.implementation;
 
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mariamkatamashvili.gym.dto.ProfileVersionDTO;
 import com.mariamkatamashvili.gym.dto.securityDto.RegistrationResponseDTO;
 import com.mariamkatamashvili.gym.dto.trainerDto.ProfileResponseDTO;
 import com.mariamkatamashvili.gym.dto.trainerDto.RegistrationRequestDTO;
 import com.mariamkatamashvili.gym.dto.trainerDto.UpdateRequestDTO;
 import com.mariamkatamashvili.gym.dto.trainerDto.UpdateResponseDTO;
+import com.mariamkatamashvili.gym.dto.trainingDto.TrainingPageDTO;
 import com.mariamkatamashvili.gym.dto.trainingDto.TrainingResponseDTO;
 import com.mariamkatamashvili.gym.dto.trainingDto.TrainingsRequestDTO;
 import com.mariamkatamashvili.gym.dto.trainingTypeDto.TrainingTypeDTO;
-import com.mariamkatamashvili.gym.entity.Trainee;
 import com.mariamkatamashvili.gym.entity.Trainer;
-import com.mariamkatamashvili.gym.entity.Training;
 import com.mariamkatamashvili.gym.entity.TrainingType;
 import com.mariamkatamashvili.gym.entity.User;
 import com.mariamkatamashvili.gym.generator.PasswordGenerator;
 import com.mariamkatamashvili.gym.generator.UsernameGenerator;
 import com.mariamkatamashvili.gym.security.GymUserDetails;
+import com.mariamkatamashvili.gym.security.GymUserDetailsService;
 import com.mariamkatamashvili.gym.security.JwtTokenGenerator;
 import com.mariamkatamashvili.gym.service.TokenService;
 import com.mariamkatamashvili.gym.dto.ToggleActivationDTO;
+import com.mariamkatamashvili.gym.metrics.CountedEntity;
+import com.mariamkatamashvili.gym.metrics.EntityCounters;
 import com.mariamkatamashvili.gym.repository.TrainerRepository;
 import com.mariamkatamashvili.gym.repository.TrainingRepository;
 import com.mariamkatamashvili.gym.repository.TrainingTypeRepository;
@@ -29,23 +34,32 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -80,7 +94,14 @@ class TrainerServiceImplTest {
     @Mock
     private JwtTokenGenerator jwtTokenGenerator;
     @Mock
+    private GymUserDetailsService userDetailsService;
+    @Mock
     private TokenService tokenService;
+    @Mock
+    private EntityCounters entityCounters;
+    @Spy
+    private TrainingExporter trainingExporter =
+            new TrainingExporter(JsonMapper.builder().addModule(new JavaTimeModule()).build());
 
     @InjectMocks
     private TrainerServiceImpl trainerService;
@@ -130,6 +151,8 @@ class TrainerServiceImplTest {
         assertNotNull(actualResponse);
         verify(trainerRepo, times(1)).save(any(Trainer.class));
         verify(tokenService, times(1)).register(any(GymUserDetails.class), eq(USERNAME), eq(PASSWORD));
+        verify(entityCounters).adjustAfterCommit(CountedEntity.USERS, 1);
+        verify(entityCounters).adjustAfterCommit(CountedEntity.TRAINERS, 1);
     }
 
     @Test
@@ -140,8 +163,7 @@ class TrainerServiceImplTest {
         User user = User.builder().username(username).firstName(FIRST_NAME).lastName(LAST_NAME).isActive(true).build();
         Trainer trainer = Trainer.builder().user(user).specialization(trainingType).trainees(new ArrayList<>()).build();
 
-        when(trainerRepo.findByUsername(anyString())).thenReturn(trainer);
-        doNothing().when(validator).validateTrainerExists(anyString());
+        when(trainerRepo.findProfileByUsername(username)).thenReturn(trainer);
 
         // when
         ProfileResponseDTO profile = trainerService.getProfile(username);
@@ -151,7 +173,38 @@ class TrainerServiceImplTest {
         assertEquals(FIRST_NAME, profile.getFirstName());
         assertEquals(LAST_NAME, profile.getLastName());
         Assertions.assertEquals(TRAINING_TYPE_NAME, profile.getSpecialization().getTrainingTypeName());
-        verify(trainerRepo, times(1)).findByUsername(anyString());
+        verify(validator, never()).validateTrainerExists(anyString());
+    }
+
+    @Test
+    void testGetProfileETag_VersionChanges_ThenETagChanges() {
+        // given
+        when(trainerRepo.findProfileVersions(USERNAME)).thenReturn(
+                List.of(new ProfileVersionDTO(1, 1, 5L, 0L, 0L)),
+                List.of(new ProfileVersionDTO(2, 1, 5L, 0L, 0L)));
+
+        // when
+        String before = trainerService.getProfileETag(USERNAME);
+        String after = trainerService.getProfileETag(USERNAME);
+
+        // then
+        assertNotEquals(before, after);
+        verify(validator, never()).validateTrainerExists(anyString());
+    }
+
+    @Test
+    void testGetProfileETag_LinksWithEqualSums_ThenETagsDiffer() {
+        // given
+        when(trainerRepo.findProfileVersions(USERNAME)).thenReturn(
+                List.of(new ProfileVersionDTO(1, 1, 1L, 0L, 0L), new ProfileVersionDTO(1, 1, 4L, 0L, 0L)),
+                List.of(new ProfileVersionDTO(1, 1, 2L, 0L, 0L), new ProfileVersionDTO(1, 1, 3L, 0L, 0L)));
+
+        // when
+        String before = trainerService.getProfileETag(USERNAME);
+        String after = trainerService.getProfileETag(USERNAME);
+
+        // then
+        assertNotEquals(before, after);
     }
 
     @Test
@@ -168,9 +221,8 @@ class TrainerServiceImplTest {
         User user = User.builder().username(USERNAME).firstName(FIRST_NAME).lastName(LAST_NAME).isActive(true).build();
         Trainer trainer = Trainer.builder().user(user).specialization(trainingType).build();
 
-        when(userRepo.findByUsername(anyString())).thenReturn(Optional.of(user));
-        when(trainerRepo.findByUsername(anyString())).thenReturn(trainer);
-        doNothing().when(validator).validateUserExists(anyString());
+        when(validator.validateUserExists(anyString())).thenReturn(user);
+        when(validator.validateTrainerExists(anyString())).thenReturn(trainer);
 
         // when
         UpdateResponseDTO updateResponse = trainerService.updateProfile(updateRequestDTO);
@@ -192,49 +244,62 @@ class TrainerServiceImplTest {
         trainingsRequestDTO.setStartDate(LocalDate.now().minusDays(10));
         trainingsRequestDTO.setEndDate(LocalDate.now().plusDays(10));
 
-        TrainingType trainingType = TrainingType.builder().id(TRAINING_TYPE_ID).trainingTypeName(TRAINING_TYPE_NAME).build();
-        User user = User.builder().username(USERNAME).build();
-        Trainer trainer = Trainer.builder().user(user).specialization(trainingType).build();
-        User traineeUser = User.builder().username("traineeUsername").build();
-        Trainee trainee = Trainee.builder().user(traineeUser).build();
-
-        Training training = Training.builder()
-                .trainingName("Test Training")
-                .trainingDate(LocalDate.now())
-                .duration(60)
-                .trainer(trainer)
-                .trainee(trainee)
-                .trainingType(trainingType)
-                .build();
-
-        List<Training> trainings = List.of(training);
+        TrainingResponseDTO training = new TrainingResponseDTO(1L, "Test Training", LocalDate.now(), TRAINING_TYPE_ID,
+                TRAINING_TYPE_NAME, 60, "traineeUsername");
+        List<TrainingResponseDTO> trainings = List.of(training);
 
         when(trainingRepo.findTrainerTrainingsByCriteria(
                 eq(USERNAME),
                 any(LocalDate.class),
                 any(LocalDate.class),
-                isNull()
+                isNull(),
+                isNull(),
+                isNull(),
+                any(Pageable.class)
         )).thenReturn(trainings);
 
-        when(trainingTypeRepo.findByTrainingTypeName(anyString()))
-                .thenReturn(Optional.of(trainingType));
-
-        doNothing().when(validator).validateTrainerExists(anyString());
 
         // when
-        List<TrainingResponseDTO> trainingResponses = trainerService.getTrainings(trainingsRequestDTO);
+        List<TrainingResponseDTO> trainingResponses = trainerService.getTrainings(trainingsRequestDTO).getTrainings();
 
         // then
         assertNotNull(trainingResponses);
         assertFalse(trainingResponses.isEmpty());
+        assertEquals("traineeUsername", trainingResponses.get(0).getName());
         verify(trainingRepo, times(1)).findTrainerTrainingsByCriteria(
                 eq(USERNAME),
                 any(LocalDate.class),
                 any(LocalDate.class),
-                isNull()
+                isNull(),
+                isNull(),
+                isNull(),
+                eq(PageRequest.of(0, TrainingPageDTO.DEFAULT_SIZE + 1))
         );
     }
 
+    @Test
+    void testExportTrainings() {
+        // given
+        TrainingResponseDTO first = new TrainingResponseDTO(2L, "Evening Session", LocalDate.now(), TRAINING_TYPE_ID,
+                TRAINING_TYPE_NAME, 60, "traineeUsername");
+        TrainingResponseDTO second = new TrainingResponseDTO(1L, "Morning Session", LocalDate.now().minusDays(1),
+                TRAINING_TYPE_ID, TRAINING_TYPE_NAME, 45, "traineeUsername");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        when(trainingRepo.streamTrainerTrainings(USERNAME)).thenReturn(Stream.of(first, second));
+
+        // when
+        trainerService.exportTrainings(USERNAME, outputStream);
+
+        // then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("Evening Session"));
+        assertTrue(lines[1].contains("Morning Session"));
+        assertFalse(lines[0].contains("\"id\""));
+        verify(trainingRepo, times(1)).streamTrainerTrainings(USERNAME);
+    }
+
     @Test
     @Transactional
     void testToggleActivation() {
@@ -245,8 +310,7 @@ class TrainerServiceImplTest {
 
         User user = User.builder().username(USERNAME).isActive(true).build();
 
-        when(userRepo.findByUsername(anyString())).thenReturn(Optional.of(user));
-        doNothing().when(validator).validateUserExists(anyString());
+        when(validator.validateUserExists(anyString())).thenReturn(user);
 
         // when
         trainerService.toggleActivation(toggleActivationDTO);
@@ -254,5 +318,6 @@ class TrainerServiceImplTest {
         // then
         assertEquals(false, user.getIsActive());
         verify(userRepo, times(1)).save(user);
+        verify(userDetailsService, times(1)).evict(USERNAME);
     }
 }
\ No newline at end of file
@@ -2,6 +2,10 @@ package com.mariamkatamashvili.gym.service.implementation;
 
 import com.mariamkatamashvili.gym.dto.ActionType;
 import com.mariamkatamashvili.gym.dto.WorkloadDTO;
+import com.mariamkatamashvili.gym.dto.traineeDto.TraineeRefDTO;
+import com.mariamkatamashvili.gym.dto.trainerDto.TrainerRefDTO;
+import com.mariamkatamashvili.gym.dto.trainingDto.BulkTrainingErrorDTO;
+import com.mariamkatamashvili.gym.dto.trainingDto.BulkTrainingResponseDTO;
 import com.mariamkatamashvili.gym.dto.trainingDto.TrainingRequestDTO;
 import com.mariamkatamashvili.gym.entity.Trainee;
 import com.mariamkatamashvili.gym.entity.Trainer;
@@ -11,20 +15,28 @@ import com.mariamkatamashvili.gym.entity.User;
 import com.mariamkatamashvili.gym.exception.GymException;
 import com.mariamkatamashvili.gym.repository.TraineeRepository;
 import com.mariamkatamashvili.gym.repository.TrainerRepository;
+import com.mariamkatamashvili.gym.repository.TrainingBatchRepository;
 import com.mariamkatamashvili.gym.repository.TrainingRepository;
+import com.mariamkatamashvili.gym.validator.EntityLookupCache;
 import com.mariamkatamashvili.gym.validator.Validator;
-import com.mariamkatamashvili.gym.messaging.MessageProducer;
+import com.mariamkatamashvili.gym.messaging.WorkloadOutbox;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.HashSet;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -51,9 +63,17 @@ class TrainingServiceImplTest {
     @Mock
     private TrainerRepository trainerRepo;
     @Mock
+    private TrainingBatchRepository trainingBatchRepo;
+    @Mock
     private Validator validator;
+    @Spy
+    private EntityLookupCache lookupCache = new EntityLookupCache();
     @Mock
-    private MessageProducer messageProducer;
+    private WorkloadOutbox workloadOutbox;
+    @Captor
+    private ArgumentCaptor<List<Training>> trainingsCaptor;
+    @Captor
+    private ArgumentCaptor<List<WorkloadDTO>> workloadsCaptor;
 
     @InjectMocks
     private TrainingServiceImpl trainingService;
@@ -82,8 +102,8 @@ class TrainingServiceImplTest {
                 .duration(DURATION)
                 .build();
 
-        when(traineeRepo.findByUsername(anyString())).thenReturn(trainee);
-        when(trainerRepo.findByUsername(anyString())).thenReturn(trainer);
+        when(validator.validateTraineeExists(anyString())).thenReturn(trainee);
+        when(validator.validateTrainerExists(anyString())).thenReturn(trainer);
 
         // when
         trainingService.create(trainingRequest);
@@ -102,7 +122,7 @@ class TrainingServiceImplTest {
         Assertions.assertSame(trainer, capturedTraining.getTrainer());
 
         ArgumentCaptor<WorkloadDTO> workloadCaptor = ArgumentCaptor.forClass(WorkloadDTO.class);
-        verify(messageProducer).sendMessage(workloadCaptor.capture());
+        verify(workloadOutbox).publish(workloadCaptor.capture());
 
         WorkloadDTO capturedWorkload = workloadCaptor.getValue();
         Assertions.assertEquals(TRAINER_USERNAME, capturedWorkload.getUsername());
@@ -126,7 +146,7 @@ class TrainingServiceImplTest {
                 .duration(DURATION)
                 .build();
 
-        when(trainerRepo.findByUsername(anyString())).thenThrow(new GymException(ERROR_MESSAGE));
+        when(validator.validateTrainerExists(anyString())).thenThrow(new GymException(ERROR_MESSAGE));
 
         // when
         GymException exception = Assertions.assertThrows(
@@ -138,7 +158,7 @@ class TrainingServiceImplTest {
         Assertions.assertNotNull(exception);
         Assertions.assertEquals(ERROR_MESSAGE, exception.getMessage());
 
-        verify(trainerRepo, times(1)).findByUsername(TRAINER_USERNAME);
+        verify(validator, times(1)).validateTrainerExists(TRAINER_USERNAME);
     }
 
     @Test
@@ -171,7 +191,7 @@ class TrainingServiceImplTest {
 
         // then
         ArgumentCaptor<WorkloadDTO> workloadCaptor = ArgumentCaptor.forClass(WorkloadDTO.class);
-        verify(messageProducer).sendMessage(workloadCaptor.capture());
+        verify(workloadOutbox).publish(workloadCaptor.capture());
 
         WorkloadDTO capturedWorkload = workloadCaptor.getValue();
         Assertions.assertEquals(TRAINER_USERNAME, capturedWorkload.getUsername());
@@ -201,4 +221,73 @@ class TrainingServiceImplTest {
 
         verify(traineeRepo, times(1)).findByUsername(TRAINEE_USERNAME);
     }
+
+    @Test
+    @Transactional
+    void createAll_WhenSomeRowsInvalid_ThenInsertValidRowsAndReportErrors() {
+        // given
+        ReflectionTestUtils.setField(trainingService, "maxBulkSize", 100);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(TRAINEE_USERNAME, null, List.of()));
+        LocalDate future = LocalDate.now().plusDays(7);
+        TrainingRequestDTO valid = bulkRequest(TRAINEE_USERNAME, TRAINER_USERNAME, future);
+        TrainingRequestDTO unknownTrainer = bulkRequest(TRAINEE_USERNAME, "missingTrainer", future);
+        TrainingRequestDTO otherTrainee = bulkRequest("otherTrainee", TRAINER_USERNAME, future);
+        TrainingRequestDTO pastDate = bulkRequest(TRAINEE_USERNAME, TRAINER_USERNAME, LocalDate.now().minusDays(1));
+
+        when(traineeRepo.findRefsByUsernameIn(any())).thenReturn(List.of(new TraineeRefDTO(1L, TRAINEE_USERNAME)));
+        when(trainerRepo.findRefsByUsernameIn(any())).thenReturn(List.of(
+                new TrainerRefDTO(2L, TRAINER_USERNAME, FIRST_NAME, LAST_NAME, IS_ACTIVE, 3L)));
+
+        try {
+            // when
+            BulkTrainingResponseDTO response = trainingService.createAll(
+                    List.of(valid, unknownTrainer, otherTrainee, pastDate));
+
+            // then
+            Assertions.assertEquals(4, response.getReceived());
+            Assertions.assertEquals(1, response.getCreated());
+            Assertions.assertEquals(List.of(1, 2, 3),
+                    response.getErrors().stream().map(BulkTrainingErrorDTO::getIndex).toList());
+
+            verify(trainingBatchRepo).insertAll(trainingsCaptor.capture());
+            Training inserted = trainingsCaptor.getValue().get(0);
+            Assertions.assertEquals(1L, inserted.getTrainee().getId());
+            Assertions.assertEquals(2L, inserted.getTrainer().getId());
+            Assertions.assertEquals(3L, inserted.getTrainingType().getId());
+
+            verify(workloadOutbox).publishAll(workloadsCaptor.capture());
+            Assertions.assertEquals(1, workloadsCaptor.getValue().size());
+            Assertions.assertEquals(TRAINER_USERNAME, workloadsCaptor.getValue().get(0).getUsername());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    void createAll_WhenTooManyRows_ThenThrowException() {
+        // given
+        ReflectionTestUtils.setField(trainingService, "maxBulkSize", 1);
+        List<TrainingRequestDTO> requests = List.of(
+                bulkRequest(TRAINEE_USERNAME, TRAINER_USERNAME, TRAINING_DATE),
+                bulkRequest(TRAINEE_USERNAME, TRAINER_USERNAME, TRAINING_DATE));
+
+        // when
+        GymException exception = Assertions.assertThrows(GymException.class,
+                () -> trainingService.createAll(requests));
+
+        // then
+        Assertions.assertTrue(exception.getMessage().contains("at most 1"));
+        verify(trainingBatchRepo, never()).insertAll(any());
+    }
+
+    private static TrainingRequestDTO bulkRequest(String trainee, String trainer, LocalDate date) {
+        return TrainingRequestDTO.builder()
+                .traineeUsername(trainee)
+                .trainerUsername(trainer)
+                .trainingName(TRAINING_NAME)
+                .date(date)
+                .duration(DURATION)
+                .build();
+    }
 }
\ No newline at end of file
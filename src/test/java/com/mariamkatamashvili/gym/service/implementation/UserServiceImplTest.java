@@ -7,7 +7,9 @@ import com.mariamkatamashvili.gym.entity.Token;
 import com.mariamkatamashvili.gym.entity.User;
 import com.mariamkatamashvili.gym.exception.GymException;
 import com.mariamkatamashvili.gym.repository.TokenRepository;
+import com.mariamkatamashvili.gym.security.GymUserDetailsService;
 import com.mariamkatamashvili.gym.security.JwtTokenGenerator;
+import com.mariamkatamashvili.gym.security.TokenRegistry;
 import com.mariamkatamashvili.gym.service.LoginAttemptsService;
 import com.mariamkatamashvili.gym.repository.UserRepository;
 import com.mariamkatamashvili.gym.validator.Validator;
@@ -57,11 +59,15 @@ class UserServiceImplTest {
     @Mock
     private JwtTokenGenerator jwtTokenGenerator;
     @Mock
+    private GymUserDetailsService userDetailsService;
+    @Mock
     private LoginAttemptsService loginAttemptsService;
     @Mock
     private PasswordEncoder passwordEncoder;
     @Mock
     private Validator validator;
+    @Mock
+    private TokenRegistry tokenRegistry;
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -90,6 +96,7 @@ class UserServiceImplTest {
 
         verify(tokenRepository, times(1)).findByUserId(1L);
         verify(tokenRepository, times(1)).save(any(Token.class));
+        verify(tokenRegistry, times(1)).register(MOCK_TOKEN);
     }
 
     @Test
@@ -122,7 +129,7 @@ class UserServiceImplTest {
 
         when(loginAttemptsService.isLockedOut(anyString())).thenReturn(false);
         when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(validator.validateUserExists(anyString())).thenReturn(user);
         when(jwtTokenGenerator.generateToken(any())).thenReturn(token.getJwtToken());
         when(jwtTokenGenerator.extractUsername(MOCK_TOKEN)).thenReturn(VALID_USERNAME);
         when(jwtTokenGenerator.getExpiration(MOCK_TOKEN)).thenReturn(new Date(System.currentTimeMillis() + 20000000));
@@ -140,6 +147,7 @@ class UserServiceImplTest {
         verify(loginAttemptsService, times(1)).isLockedOut(anyString());
         verify(tokenRepository, times(1)).save(any(Token.class));
         verify(tokenRepository, times(1)).findByUserId(ID);
+        verify(userDetailsService, times(1)).evict(VALID_USERNAME);
     }
 
     @Test
@@ -150,7 +158,7 @@ class UserServiceImplTest {
         NewPasswordRequestDTO newPasswordRequest = new NewPasswordRequestDTO(username, OLD_PASSWORD, NEW_PASSWORD);
         User user = User.builder().id(ID).username(username).password(ENCODED_OLD_PASSWORD).build();
 
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(validator.validateUserExists(anyString())).thenReturn(user);
         when(passwordEncoder.matches(anyString(), anyString())).thenReturn(false);
 
         // when
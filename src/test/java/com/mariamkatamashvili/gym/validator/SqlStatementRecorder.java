@@ -0,0 +1,29 @@
+package com.mariamkatamashvili.gym.validator;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class SqlStatementRecorder implements StatementInspector {
+    private static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    static void reset() {
+        STATEMENTS.clear();
+    }
+
+    static List<String> selects() {
+        synchronized (STATEMENTS) {
+            return STATEMENTS.stream()
+                    .filter(sql -> sql.stripLeading().toLowerCase().startsWith("select"))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.mariamkatamashvili.gym.validator;
+
+import com.mariamkatamashvili.gym.dto.ToggleActivationDTO;
+import com.mariamkatamashvili.gym.dto.traineeDto.UpdateRequestDTO;
+import com.mariamkatamashvili.gym.entity.Trainee;
+import com.mariamkatamashvili.gym.entity.Trainer;
+import com.mariamkatamashvili.gym.entity.Training;
+import com.mariamkatamashvili.gym.entity.TrainingType;
+import com.mariamkatamashvili.gym.entity.User;
+import com.mariamkatamashvili.gym.generator.PasswordGenerator;
+import com.mariamkatamashvili.gym.generator.UsernameGenerator;
+import com.mariamkatamashvili.gym.messaging.WorkloadOutbox;
+import com.mariamkatamashvili.gym.metrics.EntityCounters;
+import com.mariamkatamashvili.gym.repository.RegistrationBatchRepository;
+import com.mariamkatamashvili.gym.repository.TrainingBatchRepository;
+import com.mariamkatamashvili.gym.security.GymUserDetailsService;
+import com.mariamkatamashvili.gym.security.JwtTokenGenerator;
+import com.mariamkatamashvili.gym.service.TokenService;
+import com.mariamkatamashvili.gym.service.implementation.BulkAccountRegistrar;
+import com.mariamkatamashvili.gym.service.implementation.TraineeServiceImpl;
+import com.mariamkatamashvili.gym.service.implementation.TrainerServiceImpl;
+import com.mariamkatamashvili.gym.service.implementation.TrainingExporter;
+import com.mariamkatamashvili.gym.service.implementation.TrainingServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@Slf4j
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statements;MODE=MySQL;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.mariamkatamashvili.gym.validator.SqlStatementRecorder"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TraineeServiceImpl.class, TrainerServiceImpl.class, TrainingServiceImpl.class,
+        Validator.class, EntityLookupCache.class, TrainingExporter.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class StatementCountTest {
+    private static final Pattern FROM_TABLE = Pattern.compile("\\bfrom\\s+(\\w+)");
+    private static final String TRAINEE_USERNAME = "John.Doe";
+    private static final String TRAINER_USERNAME = "Jane.Smith";
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private TraineeServiceImpl traineeService;
+    @Autowired
+    private TrainerServiceImpl trainerService;
+
+    @MockBean
+    private UsernameGenerator usernameGenerator;
+    @MockBean
+    private PasswordGenerator passwordGenerator;
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+    @MockBean
+    private JwtTokenGenerator jwtTokenGenerator;
+    @MockBean
+    private TokenService tokenService;
+    @MockBean
+    private GymUserDetailsService userDetailsService;
+    @MockBean
+    private EntityCounters entityCounters;
+    @MockBean
+    private WorkloadOutbox workloadOutbox;
+    @MockBean
+    private TrainingBatchRepository trainingBatchRepo;
+    @MockBean
+    private RegistrationBatchRepository registrationBatchRepo;
+    @MockBean
+    private BulkAccountRegistrar bulkAccountRegistrar;
+
+    @BeforeEach
+    void setUp() {
+        TrainingType yoga = entityManager.persist(TrainingType.builder().trainingTypeName("Yoga").build());
+        Trainer trainer = entityManager.persist(Trainer.builder()
+                .user(user(TRAINER_USERNAME, "Jane", "Smith"))
+                .specialization(yoga)
+                .build());
+        entityManager.persist(Trainee.builder()
+                .user(user(TRAINEE_USERNAME, "John", "Doe"))
+                .trainers(new ArrayList<>(List.of(trainer)))
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        SqlStatementRecorder.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testTraineeGetProfile_ThenEachRowReadOnce() {
+        traineeService.getProfile(TRAINEE_USERNAME);
+
+        assertReadOnce("getTraineeProfile", 1, "trainee");
+    }
+
+    @Test
+    void testTraineeGetProfile_ManyTrainers_ThenSingleSelect() {
+        linkExtraTrainers(3);
+
+        traineeService.getProfile(TRAINEE_USERNAME);
+
+        assertReadOnce("getTraineeProfileManyTrainers", 1, "trainee");
+    }
+
+    @Test
+    void testTraineeUpdateProfile_ThenEachRowReadOnce() {
+        UpdateRequestDTO request = new UpdateRequestDTO();
+        request.setUsername(TRAINEE_USERNAME);
+        request.setFirstName("Johnny");
+        request.setLastName("Doe");
+        request.setIsActive(true);
+
+        traineeService.updateProfile(request);
+        entityManager.flush();
+
+        assertReadOnce("updateTraineeProfile", 4, "user", "trainee");
+    }
+
+    @Test
+    void testTraineeDelete_ThenEachRowReadOnce() {
+        traineeService.delete(TRAINEE_USERNAME);
+        entityManager.flush();
+
+        assertReadOnce("deleteTrainee", 5, "user", "trainee");
+    }
+
+    @Test
+    void testTraineeToggleActivation_ThenEachRowReadOnce() {
+        ToggleActivationDTO request = new ToggleActivationDTO();
+        request.setUsername(TRAINEE_USERNAME);
+        request.setIsActive(false);
+
+        traineeService.toggleActivation(request);
+        entityManager.flush();
+
+        assertReadOnce("toggleTraineeActivation", 3, "user", "trainee");
+    }
+
+    @Test
+    void testTrainerGetProfile_ThenEachRowReadOnce() {
+        trainerService.getProfile(TRAINER_USERNAME);
+
+        assertReadOnce("getTrainerProfile", 1, "trainer");
+    }
+
+    @Test
+    void testTrainerGetProfile_ManyTrainees_ThenSingleSelect() {
+        Trainer trainer = entityManager.getEntityManager()
+                .createQuery("SELECT t FROM Trainer t WHERE t.user.username = :username", Trainer.class)
+                .setParameter("username", TRAINER_USERNAME)
+                .getSingleResult();
+        for (int i = 0; i < 3; i++) {
+            entityManager.persist(Trainee.builder()
+                    .user(user("Trainee." + i, "Trainee", String.valueOf(i)))
+                    .trainers(new ArrayList<>(List.of(trainer)))
+                    .build());
+        }
+        flushAndReset();
+
+        trainerService.getProfile(TRAINER_USERNAME);
+
+        assertReadOnce("getTrainerProfileManyTrainees", 1, "trainer");
+    }
+
+    @Test
+    void testTrainerUpdateProfile_ThenEachRowReadOnce() {
+        com.mariamkatamashvili.gym.dto.trainerDto.UpdateRequestDTO request =
+                new com.mariamkatamashvili.gym.dto.trainerDto.UpdateRequestDTO();
+        request.setUsername(TRAINER_USERNAME);
+        request.setFirstName("Janet");
+        request.setLastName("Smith");
+        request.setIsActive(true);
+
+        trainerService.updateProfile(request);
+        entityManager.flush();
+
+        assertReadOnce("updateTrainerProfile", 4, "user", "trainer");
+    }
+
+    @Test
+    void testTraineeGetProfileETag_ThenSingleSelect() {
+        traineeService.getProfileETag(TRAINEE_USERNAME);
+
+        assertReadOnce("getTraineeProfileETag", 1, "trainee");
+    }
+
+    @Test
+    void testTraineeGetProfileETag_LinkedTrainerRenamed_ThenETagChanges() {
+        String before = traineeService.getProfileETag(TRAINEE_USERNAME);
+        com.mariamkatamashvili.gym.dto.trainerDto.UpdateRequestDTO request =
+                new com.mariamkatamashvili.gym.dto.trainerDto.UpdateRequestDTO();
+        request.setUsername(TRAINER_USERNAME);
+        request.setFirstName("Janet");
+        request.setLastName("Smith");
+        request.setIsActive(true);
+
+        trainerService.updateProfile(request);
+        entityManager.flush();
+
+        assertNotEquals(before, traineeService.getProfileETag(TRAINEE_USERNAME));
+        assertEquals(trainerService.getProfileETag(TRAINER_USERNAME), trainerService.getProfileETag(TRAINER_USERNAME));
+    }
+
+    @Test
+    void testExportTrainings_ThenStreamedFromSingleSelect() {
+        Trainee trainee = entityManager.getEntityManager()
+                .createQuery("SELECT t FROM Trainee t WHERE t.user.username = :username", Trainee.class)
+                .setParameter("username", TRAINEE_USERNAME)
+                .getSingleResult();
+        Trainer trainer = trainee.getTrainers().get(0);
+        for (int i = 0; i < 3; i++) {
+            entityManager.persist(Training.builder()
+                    .trainee(trainee)
+                    .trainer(trainer)
+                    .trainingType(trainer.getSpecialization())
+                    .trainingName("Session " + i)
+                    .trainingDate(LocalDate.now().minusDays(i))
+                    .duration(60)
+                    .build());
+        }
+        flushAndReset();
+        ByteArrayOutputStream traineeExport = new ByteArrayOutputStream();
+        ByteArrayOutputStream trainerExport = new ByteArrayOutputStream();
+
+        traineeService.exportTrainings(TRAINEE_USERNAME, traineeExport);
+        trainerService.exportTrainings(TRAINER_USERNAME, trainerExport);
+
+        assertEquals(3, traineeExport.toString(StandardCharsets.UTF_8).split("\n").length);
+        assertEquals(3, trainerExport.toString(StandardCharsets.UTF_8).split("\n").length);
+        assertEquals(2, SqlStatementRecorder.selects().stream()
+                .filter(sql -> "training".equals(primaryTable(sql))).count());
+    }
+
+    private void linkExtraTrainers(int count) {
+        TrainingType yoga = entityManager.getEntityManager()
+                .createQuery("SELECT t FROM TrainingType t", TrainingType.class)
+                .getSingleResult();
+        Trainee trainee = entityManager.getEntityManager()
+                .createQuery("SELECT t FROM Trainee t WHERE t.user.username = :username", Trainee.class)
+                .setParameter("username", TRAINEE_USERNAME)
+                .getSingleResult();
+        for (int i = 0; i < count; i++) {
+            trainee.getTrainers().add(entityManager.persist(Trainer.builder()
+                    .user(user("Trainer." + i, "Trainer", String.valueOf(i)))
+                    .specialization(yoga)
+                    .build()));
+        }
+        flushAndReset();
+    }
+
+    private void flushAndReset() {
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementRecorder.reset();
+    }
+
+    private void assertReadOnce(String endpoint, int expectedSelects, String... tables) {
+        List<String> selects = SqlStatementRecorder.selects();
+        log.info("{} issued {} select statements: {}", endpoint, selects.size(), selects);
+        assertEquals(expectedSelects, selects.size(), endpoint + " select count");
+        for (String table : tables) {
+            assertEquals(1, selects.stream().filter(sql -> table.equals(primaryTable(sql))).count(),
+                    endpoint + " should read " + table + " once");
+        }
+    }
+
+    private static String primaryTable(String sql) {
+        Matcher matcher = FROM_TABLE.matcher(sql.toLowerCase());
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static User user(String username, String firstName, String lastName) {
+        return User.builder()
+                .username(username)
+                .firstName(firstName)
+                .lastName(lastName)
+                .password("encoded")
+                .isActive(true)
+                .build();
+    }
+}